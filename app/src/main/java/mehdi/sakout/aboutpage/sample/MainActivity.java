@@ -15,23 +15,11 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
 
-        Element adsElement = new Element();
-        adsElement.setTitle("Advertise with us");
-
+        // the header and the links are generated from src/main/about_page.json
         View aboutPage = new AboutPage(this)
                 .isRTL(false)
-                .setImage(R.drawable.dummy_image)
-                .addItem(new Element().setTitle("Version 6.2"))
-                .addItem(adsElement)
-                .addGroup("Connect with us")
-                .addEmail("elmehdi.sakout@gmail.com")
-                .addWebsite("https://mehdisakout.com/")
-                .addFacebook("the.medy")
-                .addTwitter("medyo80")
-                .addYoutube("UCdPQtdWIsg7_pi4mrRu46vA")
-                .addPlayStore("com.ideashower.readitlater.pro")
-                .addInstagram("medyo80")
-                .addGitHub("medyo")
+                .setModel(AboutPageDefinition.createModel(this))
+                .addLicenses()
                 .addItem(getCopyRightsElement())
                 .create();
 
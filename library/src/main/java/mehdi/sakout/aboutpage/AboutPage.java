@@ -1,32 +1,35 @@
 package mehdi.sakout.aboutpage;
 
 import android.app.Fragment;
-import android.content.ActivityNotFoundException;
 import android.content.Context;
 import android.content.Intent;
-import android.content.pm.PackageManager;
 import android.graphics.Typeface;
-import android.graphics.drawable.Drawable;
 import android.net.Uri;
-import android.os.Build;
 import android.os.Bundle;
-import android.text.TextUtils;
-import android.util.Log;
-import android.view.Gravity;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
-import android.widget.ImageView;
-import android.widget.LinearLayout;
-import android.widget.TextView;
+import android.view.ViewTreeObserver;
 
 import androidx.annotation.DrawableRes;
+import androidx.annotation.LayoutRes;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
 import androidx.annotation.StyleRes;
 import androidx.appcompat.view.ContextThemeWrapper;
-import androidx.core.content.ContextCompat;
-import androidx.core.graphics.drawable.DrawableCompat;
-import androidx.core.widget.TextViewCompat;
-import androidx.vectordrawable.graphics.drawable.VectorDrawableCompat;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * The main class of this library with many predefined methods to add Elements for common items in
@@ -40,25 +43,49 @@ import androidx.vectordrawable.graphics.drawable.VectorDrawableCompat;
  * @see Element
  */
 public class AboutPage {
-    private static final String LOG_TAG = AboutPage.class.getSimpleName();
-
-    private final Context mContext;
-    private final LayoutInflater mInflater;
-    private final View mView;
-    private CharSequence mDescription;
-    private int mImage = 0;
-    private boolean mIsRTL = false;
-    private Typeface mCustomFont;
+    /**
+     * Path of the licenses generated by the {@code about-licenses.gradle} script in the assets
+     */
+    public static final String LICENSES_ASSET = "about_licenses.pack";
+
+    private Context mContext;
+    private LayoutInflater mInflater;
+    private final RowFactory mRowFactory;
+    private final PageMetrics mMetrics = new PageMetrics();
+    private AboutPageModel.Builder mModel = new AboutPageModel.Builder();
+    private boolean mUseRecyclerView = false;
+    private boolean mUseFlatLayout = false;
+    private boolean mUseCanvas = false;
+    private boolean mPrecomputeText = false;
+    private boolean mUseSearchIndex = false;
+    private String mCustomFontPath;
+    private RecyclerView.RecycledViewPool mRecycledViewPool;
+    @StyleRes
+    private final int mStyle;
+    private AboutPageViewPool mViewPool;
+    private PageViews mViews;
+    private View mView;
+    private LinearRenderer mLinearRenderer;
+    private AboutPageAdapter mAdapter;
+    private CanvasPageView mCanvasView;
+
+    private ElementIndex mIndex;
+    // incremented for each content to index, so the indexes of previous contents are dropped
+    private volatile int mIndexGeneration;
+    private boolean mIndexScheduled = false;
+    private CharSequence mQuery;
 
     /**
      * The AboutPage requires a context to perform it's functions. Give it a context associated to an
-     * Activity or a Fragment. To avoid memory leaks, don't pass a
-     * {@link android.content.Context#getApplicationContext() Context.getApplicationContext()} here.
+     * Activity or a Fragment, not a
+     * {@link android.content.Context#getApplicationContext() Context.getApplicationContext()}. To
+     * avoid leaking the Activity from a page kept longer than it, release the page with
+     * {@link #releaseOn(LifecycleOwner)} or {@link #release()}.
      *
      * @param context
      */
     public AboutPage(Context context) {
-        this(context, AboutPageUtils.resolveResIdAttr(context, R.attr.aboutStyle, R.style.about_About));
+        this(context, defaultStyle(context));
     }
 
     public AboutPage(Context context, boolean forceEnableDarkMode) {
@@ -66,20 +93,128 @@ public class AboutPage {
     }
 
     public AboutPage(Context context, @StyleRes int style) {
+        this.mStyle = style;
         this.mContext = new ContextThemeWrapper(context, style);
         this.mInflater = LayoutInflater.from(this.mContext);
-        this.mView = mInflater.inflate(R.layout.about_page, null);
+        this.mRowFactory = new RowFactory(mContext, mInflater, new AboutPageStyle(mContext), mMetrics);
+    }
+
+    /**
+     * Receives the timings of an {@link AboutPage}, for e.g to monitor it in the field. The phases
+     * are also emitted as trace sections with the same names, visible in systrace and Perfetto.
+     * <p>
+     * Callbacks are invoked synchronously on the thread building the page, keep them cheap.
+     *
+     * @see AboutPage#setPerformanceListener(PerformanceListener)
+     */
+    public interface PerformanceListener {
+        /**
+         * {@link AboutPage#addItem(Element)}
+         */
+        String PHASE_ADD_ITEM = "AboutPage.addItem";
+        /**
+         * {@link AboutPage#addAll(AboutPageModel)} and {@link AboutPage#addItems(Collection)}
+         */
+        String PHASE_ADD_ALL = "AboutPage.addAll";
+        /**
+         * {@link AboutPage#create()}, including the phases below except the first frame
+         */
+        String PHASE_CREATE = "AboutPage.create";
+        /**
+         * Inflating the root layout of the page, skipped when it is taken from an
+         * {@link AboutPageViewPool}
+         */
+        String PHASE_INFLATE = "AboutPage.inflate";
+        /**
+         * Creating the views of an element row
+         */
+        String PHASE_CREATE_ITEM = "AboutPage.createItem";
+        /**
+         * Binding an element to its row, including the icon
+         */
+        String PHASE_BIND_ITEM = "AboutPage.bindItem";
+        /**
+         * Loading and tinting the icon of an element
+         */
+        String PHASE_TINT_ICON = "AboutPage.tintIcon";
+        /**
+         * From the start of {@link AboutPage#create()} to the end of the first frame drawing the
+         * page. Not emitted as a trace section.
+         */
+        String PHASE_FIRST_FRAME = "AboutPage.firstFrame";
+
+        /**
+         * @param phase      one of the PHASE_ constants
+         * @param durationNs the duration of the phase in nanoseconds
+         */
+        void onPhase(String phase, long durationNs);
+
+        /**
+         * Called at the end of {@link AboutPage#create()}
+         *
+         * @param elementCount   the number of elements of the page
+         * @param viewCount      the number of views created, only the visible rows are created
+         *                       when the page is rendered with a {@link RecyclerView}
+         * @param allocatedBytes an estimate of the memory allocated by {@link AboutPage#create()},
+         *                       the growth of the used heap: it is underestimated when a garbage
+         *                       collection happened meanwhile, down to 0 when more memory was
+         *                       freed than allocated
+         */
+        void onCreated(int elementCount, int viewCount, long allocatedBytes);
     }
 
     /**
-     * Provide a valid path to a font here to use another font for the text inside this AboutPage
+     * Report the timings of this AboutPage to the given listener. Nothing is measured when no
+     * listener is set.
      *
-     * @param path
+     * @param listener the listener to report to, or null to stop reporting
      * @return this AboutPage instance for builder pattern support
      */
+    public AboutPage setPerformanceListener(PerformanceListener listener) {
+        mMetrics.setListener(listener);
+        return this;
+    }
+
+    /**
+     * Load a font from the assets on a background thread and keep it for the pages created later
+     * with {@link AboutPage#setCustomFont(String)}. Call it early, for e.g when the application
+     * starts, so opening the page doesn't read the font file on the main thread.
+     *
+     * @param context
+     * @param path the path of the font in the assets
+     */
+    public static void preloadCustomFont(Context context, String path) {
+        TypefaceCache.preload(context, path);
+    }
+
+    @StyleRes
+    static int defaultStyle(Context context) {
+        return AboutPageUtils.resolveResIdAttr(context, R.attr.aboutStyle, R.style.about_About);
+    }
+
+    @LayoutRes
+    static int rootLayout(boolean useRecyclerView, boolean useFlatLayout) {
+        if (useRecyclerView) {
+            return R.layout.about_page_recycler;
+        }
+        return useFlatLayout ? R.layout.about_page_flat : R.layout.about_page;
+    }
+
+    /**
+     * Provide a valid path to a font here to use another font for the text inside this AboutPage.
+     * The font is loaded once and shared by all the pages using the same path. A font that can't
+     * be read, for e.g missing from the assets, is logged and the text keeps its default typeface.
+     * <p>
+     * Unless it was preloaded, the font is read from the assets on the calling thread. Use
+     * {@link AboutPage#preloadCustomFont(Context, String)} to keep this I/O off the main thread.
+     *
+     * @param path the path of the font in the assets
+     * @return this AboutPage instance for builder pattern support
+     * @see AboutPage#preloadCustomFont(Context, String)
+     */
     public AboutPage setCustomFont(String path) {
-        //TODO: check if file exists
-        mCustomFont = Typeface.createFromAsset(mContext.getAssets(), path);
+        mRowFactory.setCustomFont(TypefaceCache.get(requireContext().getAssets(), path));
+        mCustomFontPath = path;
         return this;
     }
 
@@ -90,7 +225,8 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage setCustomFont(Typeface typeface) {
-        mCustomFont = typeface;
+        mRowFactory.setCustomFont(typeface);
+        mCustomFontPath = null;
         return this;
     }
 
@@ -102,7 +238,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addEmail(String email) {
-        return addEmail(email, mContext.getString(R.string.about_contact_us));
+        return addEmail(email, requireContext().getString(R.string.about_contact_us));
     }
 
     /**
@@ -135,7 +271,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addFacebook(String id) {
-        return addFacebook(id, mContext.getString(R.string.about_facebook));
+        return addFacebook(id, requireContext().getString(R.string.about_facebook));
     }
 
     /**
@@ -153,31 +289,10 @@ public class AboutPage {
         facebookElement.setIconTint(R.color.about_facebook_color);
         facebookElement.setValue(id);
 
-        Intent intent = new Intent();
-        intent.setAction(Intent.ACTION_VIEW);
-        intent.addCategory(Intent.CATEGORY_BROWSABLE);
-
-        if (AboutPageUtils.isAppInstalled(mContext, "com.facebook.katana")) {
-            intent.setPackage("com.facebook.katana");
-            int versionCode = 0;
-            try {
-                versionCode = mContext.getPackageManager().getPackageInfo("com.facebook.katana", 0).versionCode;
-            } catch (PackageManager.NameNotFoundException e) {
-                e.printStackTrace();
-            }
-
-            if (versionCode >= 3002850) {
-                Uri uri = Uri.parse("fb://facewebmodal/f?href=" + "http://m.facebook.com/" + id);
-                intent.setData(uri);
-            } else {
-                Uri uri = Uri.parse("fb://page/" + id);
-                intent.setData(uri);
-            }
-        } else {
-            intent.setData(Uri.parse("http://m.facebook.com/" + id));
-        }
-
-        facebookElement.setIntent(intent);
+        facebookElement.setIntentProvider(new DeepLink("http://m.facebook.com/" + id)
+                .addApp("com.facebook.katana", 3002850, "fb://facewebmodal/f?href=" + "http://m.facebook.com/" + id)
+                .addApp("com.facebook.katana", "fb://page/" + id)
+                .setBrowsable(true));
 
         addItem(facebookElement);
         return this;
@@ -191,7 +306,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addTwitter(String id) {
-        return addTwitter(id, mContext.getString(R.string.about_twitter));
+        return addTwitter(id, requireContext().getString(R.string.about_twitter));
     }
 
 
@@ -210,18 +325,9 @@ public class AboutPage {
         twitterElement.setIconTint(R.color.about_twitter_color);
         twitterElement.setValue(id);
 
-        Intent intent = new Intent();
-        intent.setAction(Intent.ACTION_VIEW);
-        intent.addCategory(Intent.CATEGORY_BROWSABLE);
-
-        if (AboutPageUtils.isAppInstalled(mContext, "com.twitter.android")) {
-            intent.setPackage("com.twitter.android");
-            intent.setData(Uri.parse(String.format("twitter://user?screen_name=%s", id)));
-        } else {
-            intent.setData(Uri.parse(String.format("http://twitter.com/intent/user?screen_name=%s", id)));
-        }
-
-        twitterElement.setIntent(intent);
+        twitterElement.setIntentProvider(new DeepLink(String.format("http://twitter.com/intent/user?screen_name=%s", id))
+                .addApp("com.twitter.android", String.format("twitter://user?screen_name=%s", id))
+                .setBrowsable(true));
         addItem(twitterElement);
         return this;
     }
@@ -234,7 +340,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addPlayStore(String id) {
-        return addPlayStore(id, mContext.getString(R.string.about_play_store));
+        return addPlayStore(id, requireContext().getString(R.string.about_play_store));
     }
 
     /**
@@ -268,7 +374,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addYoutube(String id) {
-        return addYoutube(id, mContext.getString(R.string.about_youtube));
+        return addYoutube(id, requireContext().getString(R.string.about_youtube));
     }
 
     /**
@@ -288,15 +394,8 @@ public class AboutPage {
         youtubeElement.setIconTint(R.color.about_youtube_color);
         youtubeElement.setValue(id);
 
-        Intent intent = new Intent();
-        intent.setAction(Intent.ACTION_VIEW);
-        intent.setData(Uri.parse(String.format("http://youtube.com/channel/%s", id)));
-
-        if (AboutPageUtils.isAppInstalled(mContext, "com.google.android.youtube")) {
-            intent.setPackage("com.google.android.youtube");
-        }
-
-        youtubeElement.setIntent(intent);
+        String url = String.format("http://youtube.com/channel/%s", id);
+        youtubeElement.setIntentProvider(new DeepLink(url).addApp("com.google.android.youtube", url));
         addItem(youtubeElement);
 
         return this;
@@ -310,7 +409,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addInstagram(String id) {
-        return addInstagram(id, mContext.getString(R.string.about_instagram));
+        return addInstagram(id, requireContext().getString(R.string.about_instagram));
     }
 
     /**
@@ -330,15 +429,8 @@ public class AboutPage {
         instagramElement.setIconTint(R.color.about_instagram_color);
         instagramElement.setValue(id);
 
-        Intent intent = new Intent();
-        intent.setAction(Intent.ACTION_VIEW);
-        intent.setData(Uri.parse("http://instagram.com/_u/" + id));
-
-        if (AboutPageUtils.isAppInstalled(mContext, "com.instagram.android")) {
-            intent.setPackage("com.instagram.android");
-        }
-
-        instagramElement.setIntent(intent);
+        String url = "http://instagram.com/_u/" + id;
+        instagramElement.setIntentProvider(new DeepLink(url).addApp("com.instagram.android", url));
         addItem(instagramElement);
 
         return this;
@@ -352,7 +444,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addGitHub(String id) {
-        return addGitHub(id, mContext.getString(R.string.about_github));
+        return addGitHub(id, requireContext().getString(R.string.about_github));
     }
 
     /**
@@ -370,12 +462,7 @@ public class AboutPage {
         gitHubElement.setIconTint(R.color.about_github_color);
         gitHubElement.setValue(id);
 
-        Intent intent = new Intent();
-        intent.setAction(Intent.ACTION_VIEW);
-        intent.addCategory(Intent.CATEGORY_BROWSABLE);
-        intent.setData(Uri.parse(String.format("https://github.com/%s", id)));
-
-        gitHubElement.setIntent(intent);
+        gitHubElement.setIntentProvider(new DeepLink(String.format("https://github.com/%s", id)).setBrowsable(true));
         addItem(gitHubElement);
 
         return this;
@@ -389,7 +476,7 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addWebsite(String url) {
-        return addWebsite(url, mContext.getString(R.string.about_website));
+        return addWebsite(url, requireContext().getString(R.string.about_website));
     }
 
     /**
@@ -408,15 +495,39 @@ public class AboutPage {
         websiteElement.setIconDrawable(R.drawable.about_icon_link);
         websiteElement.setValue(url);
 
-        Uri uri = Uri.parse(url);
-        Intent browserIntent = new Intent(Intent.ACTION_VIEW, uri);
-
-        websiteElement.setIntent(browserIntent);
+        websiteElement.setIntentProvider(new DeepLink(url));
         addItem(websiteElement);
 
         return this;
     }
 
+    /**
+     * Convenience method for {@link AboutPage#addLicenses(String, String)} listing the licenses
+     * generated by the {@code about-licenses.gradle} script, with a predefined title string
+     *
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage addLicenses() {
+        return addLicenses(LICENSES_ASSET, requireContext().getString(R.string.about_licenses));
+    }
+
+    /**
+     * Add an Element opening the list of the open source licenses packed in the given asset. The
+     * list reads the entries it displays from the pack, and the text of a license only when its
+     * entry is opened, so it stays cheap with thousands of entries.
+     *
+     * @param assetPath the path of the pack in the assets
+     * @param title     the title to display on this item and on the list
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage addLicenses(String assetPath, String title) {
+        Element licensesElement = new Element();
+        licensesElement.setTitle(title);
+        licensesElement.setIntent(LicensesActivity.createIntent(requireContext(), assetPath, title));
+        addItem(licensesElement);
+        return this;
+    }
+
     /**
      * Add a custom {@link Element} to this AboutPage
      *
@@ -425,20 +536,111 @@ public class AboutPage {
      * @see Element
      */
     public AboutPage addItem(Element element) {
-        LinearLayout wrapper = mView.findViewById(R.id.about_providers);
-        wrapper.addView(createItem(element));
-        wrapper.addView(getSeparator(), new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, mContext.getResources().getDimensionPixelSize(R.dimen.about_separator_height)));
+        long start = mMetrics.begin(PerformanceListener.PHASE_ADD_ITEM);
+        mModel.addElement(element);
+        if (mView != null) {
+            renderItem(element);
+            scheduleIndex();
+        }
+        mMetrics.end(PerformanceListener.PHASE_ADD_ITEM, start);
         return this;
     }
 
     /**
-     * Set the header image to display in this AboutPage
+     * Add several custom {@link Element}s to this AboutPage at once. Once the page is created, the
+     * rows of all the elements are created before being added to the page, which is then laid out
+     * once instead of once per element.
+     *
+     * @param elements the elements to add after the current ones
+     * @return this AboutPage instance for builder pattern support
+     * @see #addAll(AboutPageModel)
+     */
+    public AboutPage addItems(Collection<Element> elements) {
+        AboutPageModel.Builder content = new AboutPageModel.Builder();
+        for (Element element : elements) {
+            content.addElement(element);
+        }
+        return addAll(content.build());
+    }
+
+    /**
+     * Add the elements of a compact {@link ElementList} to this AboutPage at once, for e.g the
+     * thousands of entries of a generated credits page.
+     *
+     * @param elements the elements to add after the current ones
+     * @return this AboutPage instance for builder pattern support
+     * @see #addAll(AboutPageModel)
+     */
+    public AboutPage addItems(ElementList elements) {
+        return addAll(new AboutPageModel.Builder().addElements(elements).build());
+    }
+
+    /**
+     * Add the groups and the elements of the given content after the current ones, the same way
+     * {@link #addGroup(String)} and {@link #addItem(Element)} would add them one by one. The
+     * elements before the first group of the content join the last group of the page. Once the
+     * page is created, all the rows are created before being added to the page, which is then
+     * laid out once. The header of the content is ignored.
+     *
+     * @param content the groups and the elements to add
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage addAll(AboutPageModel content) {
+        long start = mMetrics.begin(PerformanceListener.PHASE_ADD_ALL);
+        for (AboutPageModel.Group group : content.getGroups()) {
+            if (group.getTitle() != null) {
+                mModel.addGroup(group.getTitle());
+            }
+            mModel.addElements(group.elements());
+        }
+        if (mView != null) {
+            List<Row> rows = rows(content);
+            if (mCanvasView != null) {
+                mCanvasView.addRows(rows);
+            } else if (mAdapter != null) {
+                mAdapter.addRows(rows);
+            } else {
+                mLinearRenderer.appendAll(rows);
+            }
+            scheduleIndex();
+        }
+        mMetrics.end(PerformanceListener.PHASE_ADD_ALL, start);
+        return this;
+    }
+
+    /**
+     * Set the header image to display in this AboutPage. Bitmaps are decoded off the main thread,
+     * sampled down to the size of the screen and shared with the other pages displaying them.
      *
      * @param resource the resource id of the image to display
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage setImage(@DrawableRes int resource) {
-        this.mImage = resource;
+        mModel.setImage(resource);
+        return this;
+    }
+
+    /**
+     * Set the header image to display in this AboutPage from a URI, for e.g a content or file URI.
+     * The image is decoded off the main thread and sampled down to the size of the screen.
+     *
+     * @param uri the URI of the image to display
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage setImage(Uri uri) {
+        mModel.setImage(uri);
+        return this;
+    }
+
+    /**
+     * Set the header image to display in this AboutPage from the assets
+     *
+     * @param path the path of the image in the assets
+     * @return this AboutPage instance for builder pattern support
+     * @see #setImage(Uri)
+     */
+    public AboutPage setImageAsset(String path) {
+        mModel.setImageAsset(path);
         return this;
     }
 
@@ -464,49 +666,241 @@ public class AboutPage {
      * @return this AboutPage instance for builder pattern support
      */
     public AboutPage addGroup(String name) {
+        mModel.addGroup(name);
+        if (mView != null) {
+            renderGroup(name);
+        }
+        return this;
+    }
 
-        TextView textView = new TextView(mContext);
-        textView.setText(name);
-        TextViewCompat.setTextAppearance(textView, AboutPageUtils.resolveResIdAttr(mContext, R.attr.aboutGroupTextAppearance, R.style.about_groupTextAppearance));
-        LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+    /**
+     * Turn on the RTL mode.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage isRTL(boolean value) {
+        mRowFactory.setRTL(value);
+        return this;
+    }
 
-        if (mCustomFont != null) {
-            textView.setTypeface(mCustomFont);
-        }
+    /**
+     * Render this AboutPage as a {@link RecyclerView} instead of a {@link android.widget.ScrollView}.
+     * Only the visible rows are inflated, which keeps long pages (e.g. credits or licenses) cheap to
+     * create and to lay out.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage useRecyclerView(boolean value) {
+        this.mUseRecyclerView = value;
+        return this;
+    }
 
-        int padding = mContext.getResources().getDimensionPixelSize(R.dimen.about_group_text_padding);
-        textView.setPadding(padding, padding, padding, padding);
+    /**
+     * Render each element as a single view drawing its icon, title and separator, instead of a
+     * LinearLayout holding an icon, a title and a separator view. This divides the number of views
+     * of large pages by about three. Call this method before {@link #create()}.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage useCompactRows(boolean value) {
+        mRowFactory.setCompactRows(value);
+        return this;
+    }
 
+    /**
+     * Lay out the header and the rows as direct children of a single container, with compact rows
+     * and drawn separators, so no view is more than two levels below the ScrollView. The page
+     * looks the same but each measure and layout pass goes through fewer nested layouts. Ignored
+     * when the page is rendered with a {@link RecyclerView}. Call this method before
+     * {@link #create()}.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     * @see #useCompactRows(boolean)
+     */
+    public AboutPage useFlatLayout(boolean value) {
+        this.mUseFlatLayout = value;
+        return this;
+    }
 
-        if (mIsRTL) {
-            textView.setGravity(Gravity.END | Gravity.CENTER_VERTICAL);
-            textParams.gravity = Gravity.END | Gravity.CENTER_VERTICAL;
-        } else {
-            textView.setGravity(Gravity.START | Gravity.CENTER_VERTICAL);
-            textParams.gravity = Gravity.START | Gravity.CENTER_VERTICAL;
-        }
-        textView.setLayoutParams(textParams);
+    /**
+     * Draw the whole page in a single view instead of creating views for its rows. The view lays
+     * out the text of the rows once, draws the visible ones, scrolls by itself and exposes the rows
+     * to the accessibility services, so its memory and layout cost barely depend on the number of
+     * elements. Takes precedence over the other rendering options. Call this method before
+     * {@link #create()}.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage useCanvas(boolean value) {
+        this.mUseCanvas = value;
+        return this;
+    }
 
-        ((LinearLayout) mView.findViewById(R.id.about_providers)).addView(textView);
+    /**
+     * Measure the titles and the description with {@link androidx.core.text.PrecomputedTextCompat}
+     * before binding them, so their views don't measure the text again during the first layout.
+     * When {@link #create()} runs on the main thread the text is measured on a background thread
+     * while the root layout is inflated, otherwise on the thread creating the page, for e.g with
+     * {@link AsyncAboutPage}. Ignored when the page is drawn with {@link #useCanvas(boolean)}. Call
+     * this method before {@link #create()}.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage usePrecomputedText(boolean value) {
+        this.mPrecomputeText = value;
         return this;
     }
 
     /**
-     * Turn on the RTL mode.
+     * Index the words of the titles and values of the elements on a background thread once the
+     * page is created, so it can be filtered with {@link #filter(CharSequence)}, for e.g from a
+     * search field. The index is built again when the content is updated. Call this method before
+     * {@link #create()}.
      *
      * @param value
      * @return this AboutPage instance for builder pattern support
      */
-    public AboutPage isRTL(boolean value) {
-        this.mIsRTL = value;
+    public AboutPage useSearchIndex(boolean value) {
+        this.mUseSearchIndex = value;
+        return this;
+    }
+
+    /**
+     * Only display the elements having a word of their title or value starting with each word of
+     * the query, ignoring the case and the accents, and the titles of their groups. The other rows
+     * are hidden without being rebuilt, so this method can be called on each keystroke. A query
+     * set before the index is built is applied once it is. Call this method on the main thread.
+     *
+     * @param query the text to look for, or null or empty to display all the elements
+     * @return this AboutPage instance for builder pattern support
+     * @throws IllegalStateException if the page is not indexed
+     * @see #useSearchIndex(boolean)
+     */
+    public AboutPage filter(CharSequence query) {
+        if (!mUseSearchIndex) {
+            throw new IllegalStateException("call useSearchIndex(true) before create() to filter an AboutPage");
+        }
+        mQuery = query;
+        applyFilter();
+        return this;
+    }
+
+    /**
+     * Draw the separators between the elements from their container instead of adding a separator
+     * view after each element, which halves the number of views of the page. Compact rows always
+     * draw their own separator. Call this method before {@link #create()}.
+     *
+     * @param value
+     * @return this AboutPage instance for builder pattern support
+     * @see #useCompactRows(boolean)
+     */
+    public AboutPage useDrawnSeparators(boolean value) {
+        mRowFactory.setDrawnSeparators(value);
+        return this;
+    }
+
+    /**
+     * Share recycled rows between several AboutPages rendered with a {@link RecyclerView}, for e.g
+     * when the page is displayed in multiple tabs of the same Activity.
+     *
+     * @param pool the pool to share
+     * @return this AboutPage instance for builder pattern support
+     * @see #useRecyclerView(boolean)
+     */
+    public AboutPage setRecycledViewPool(RecyclerView.RecycledViewPool pool) {
+        this.mRecycledViewPool = pool;
+        return this;
+    }
+
+    /**
+     * Take the root view of this AboutPage from the given pool when one is available, instead of
+     * inflating it in {@link #create()}.
+     *
+     * @param pool the pool holding the roots inflated ahead of time or recycled
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage setViewPool(AboutPageViewPool pool) {
+        this.mViewPool = pool;
         return this;
     }
 
     public AboutPage setDescription(CharSequence description) {
-        this.mDescription = description;
+        mModel.setDescription(description);
+        return this;
+    }
+
+    /**
+     * Replace the content of this AboutPage with a model built beforehand, for e.g on a background
+     * thread or before a configuration change. Items and groups added afterwards are appended to it.
+     *
+     * @param model the content to display
+     * @return this AboutPage instance for builder pattern support
+     * @see #getModel()
+     */
+    public AboutPage setModel(AboutPageModel model) {
+        mModel = model.buildUpon();
         return this;
     }
 
+    /**
+     * @return the content added so far to this AboutPage
+     */
+    public AboutPageModel getModel() {
+        return mModel.build();
+    }
+
+    /**
+     * Save the content and the options of this AboutPage, for e.g in
+     * {@link android.app.Activity#onSaveInstanceState(Bundle)} or in a cache on disk, so the page
+     * can be recreated with {@link #restore(Context, AboutPageSnapshot)}.
+     *
+     * @return the snapshot of this AboutPage
+     * @see AboutPageSnapshot
+     */
+    public AboutPageSnapshot snapshot() {
+        int flags = 0;
+        flags |= mRowFactory.isRTL() ? AboutPageSnapshot.FLAG_RTL : 0;
+        flags |= mUseRecyclerView ? AboutPageSnapshot.FLAG_RECYCLER_VIEW : 0;
+        flags |= mRowFactory.isCompactRows() ? AboutPageSnapshot.FLAG_COMPACT_ROWS : 0;
+        flags |= mRowFactory.isDrawnSeparators() ? AboutPageSnapshot.FLAG_DRAWN_SEPARATORS : 0;
+        flags |= mUseFlatLayout ? AboutPageSnapshot.FLAG_FLAT_LAYOUT : 0;
+        flags |= mUseCanvas ? AboutPageSnapshot.FLAG_CANVAS : 0;
+        flags |= mPrecomputeText ? AboutPageSnapshot.FLAG_PRECOMPUTED_TEXT : 0;
+        flags |= mUseSearchIndex ? AboutPageSnapshot.FLAG_SEARCH_INDEX : 0;
+        return new AboutPageSnapshot(mStyle, flags, mCustomFontPath, mModel.build());
+    }
+
+    /**
+     * Recreate an AboutPage from a snapshot, with the same theme, content and options, without
+     * building it again. Call {@link #create()} on the returned page to display it.
+     *
+     * @param context  the context of the Activity or the Fragment displaying the page
+     * @param snapshot the snapshot returned by {@link #snapshot()}
+     * @return the restored AboutPage
+     */
+    public static AboutPage restore(Context context, AboutPageSnapshot snapshot) {
+        AboutPage page = new AboutPage(context, snapshot.style)
+                .isRTL(snapshot.hasFlag(AboutPageSnapshot.FLAG_RTL))
+                .useRecyclerView(snapshot.hasFlag(AboutPageSnapshot.FLAG_RECYCLER_VIEW))
+                .useCompactRows(snapshot.hasFlag(AboutPageSnapshot.FLAG_COMPACT_ROWS))
+                .useDrawnSeparators(snapshot.hasFlag(AboutPageSnapshot.FLAG_DRAWN_SEPARATORS))
+                .useFlatLayout(snapshot.hasFlag(AboutPageSnapshot.FLAG_FLAT_LAYOUT))
+                .useCanvas(snapshot.hasFlag(AboutPageSnapshot.FLAG_CANVAS))
+                .usePrecomputedText(snapshot.hasFlag(AboutPageSnapshot.FLAG_PRECOMPUTED_TEXT))
+                .useSearchIndex(snapshot.hasFlag(AboutPageSnapshot.FLAG_SEARCH_INDEX))
+                .setModel(snapshot.model);
+        if (snapshot.customFont != null) {
+            page.setCustomFont(snapshot.customFont);
+        }
+        return page;
+    }
+
     /**
      * Create and inflate this AboutPage. After this method is called the AboutPage
      * cannot be customized any more.
@@ -514,142 +908,362 @@ public class AboutPage {
      * @return the inflated {@link View} of this AboutPage
      */
     public View create() {
-        TextView description = mView.findViewById(R.id.description);
-        ImageView image = mView.findViewById(R.id.image);
+        requireContext();
+        boolean measured = mMetrics.isEnabled();
+        long usedMemory = measured ? PageMetrics.usedMemory() : 0;
+        long start = mMetrics.begin(PerformanceListener.PHASE_CREATE);
+        AboutPageModel model = mModel.build();
+        createView(model);
+        mMetrics.end(PerformanceListener.PHASE_CREATE, start);
+        buildIndex(model);
+
+        if (measured) {
+            // counting the views walks the whole page, only done for the listener
+            mMetrics.created(model.getElementCount(), countViews(mView), Math.max(0, PageMetrics.usedMemory() - usedMemory));
+            reportFirstFrame(start);
+        }
+        return mView;
+    }
 
-        if (mImage > 0) {
-            image.setImageResource(mImage);
+    private void createView(AboutPageModel model) {
+        if (mUseCanvas) {
+            mCanvasView = new CanvasPageView(mContext, mRowFactory);
+            mCanvasView.setContent(HeaderImage.of(model), model.getDescription(), rows(model));
+            mView = mCanvasView;
+            return;
         }
 
-        if (!TextUtils.isEmpty(mDescription)) {
-            description.setText(mDescription);
+        boolean flat = mUseFlatLayout && !mUseRecyclerView;
+        // regular rows would add a LinearLayout level below the container, the rows of a flat
+        // layout are compact whatever the option of the page
+        mRowFactory.setFlatLayout(flat);
+
+        Future<PrecomputedTexts> texts = mPrecomputeText ? PrecomputedTexts.compute(mRowFactory, model) : null;
+
+        int layout = rootLayout(mUseRecyclerView, mUseFlatLayout);
+        mViews = mViewPool != null ? mViewPool.acquire(layout, mStyle) : null;
+        if (mViews == null) {
+            long start = mMetrics.begin(PerformanceListener.PHASE_INFLATE);
+            mViews = PageViews.inflate(mInflater, layout, mStyle);
+            mMetrics.end(PerformanceListener.PHASE_INFLATE, start);
         }
+        mView = mViews.root;
 
-        if (mCustomFont != null) {
-            description.setTypeface(mCustomFont);
+        if (texts != null) {
+            mRowFactory.setPrecomputedTexts(PrecomputedTexts.get(texts));
         }
 
-        return mView;
+        if (mUseRecyclerView) {
+            setUpRecyclerView(model);
+            return;
+        }
+
+        if (flat || mRowFactory.hasDrawnSeparators()) {
+            mViews.providers.setSeparatorDecoration(new SeparatorDecoration(mRowFactory.getStyle()));
+        }
+        if (flat) {
+            SeparatorDecoration.setSeparatorBelow(mViews.descriptionView, true);
+        }
+        mLinearRenderer = new LinearRenderer(mRowFactory, mViews.providers, mViews.firstRow);
+        mRowFactory.bindHeader(mViews.imageView, mViews.descriptionView, HeaderImage.of(model), model.getDescription());
+        for (Row row : rows(model)) {
+            mLinearRenderer.append(row);
+        }
     }
 
-    private View createItem(final Element element) {
-        LinearLayout wrapper = new LinearLayout(mContext);
-        wrapper.setOrientation(LinearLayout.HORIZONTAL);
-        wrapper.setClickable(true);
-
-        if (element.getOnClickListener() != null) {
-            wrapper.setOnClickListener(element.getOnClickListener());
-        } else if (element.getIntent() != null) {
-            wrapper.setOnClickListener(new View.OnClickListener() {
-                @Override
-                public void onClick(View view) {
-                    try {
-                        mContext.startActivity(element.getIntent());
-                    } catch (ActivityNotFoundException e) {
-                        Log.e(LOG_TAG, "failed to launch intent for '" + element.getTitle() + "' element", e);
+    private void reportFirstFrame(final long createStart) {
+        final View view = mView;
+        view.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                view.getViewTreeObserver().removeOnPreDrawListener(this);
+                // runs once the traversal drawing this frame is over
+                view.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        mMetrics.firstFrame(System.nanoTime() - createStart);
                     }
+                });
+                return true;
+            }
+        });
+    }
+
+    private static int countViews(View view) {
+        int count = 1;
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                count += countViews(group.getChildAt(i));
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Release this AboutPage when the given lifecycle owner is destroyed. Must be called on the
+     * main thread.
+     *
+     * @param owner the Activity or Fragment hosting the page, or the view lifecycle owner of the
+     *              Fragment when the page is kept across its views
+     * @return this AboutPage instance for builder pattern support
+     * @see #release()
+     */
+    @MainThread
+    public AboutPage releaseOn(@NonNull LifecycleOwner owner) {
+        final Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            release();
+            return this;
+        }
+
+        lifecycle.addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    lifecycle.removeObserver(this);
+                    release();
                 }
-            });
+            }
+        });
+        return this;
+    }
 
+    /**
+     * Drop the views, the context and the listeners of this AboutPage, for e.g when it is kept in a
+     * ViewModel or a retained Fragment that outlives its Activity. The page only keeps its content
+     * and its options afterwards: {@link #getModel()} and {@link #snapshot()} still work, so the
+     * page can be restored in the next Activity, but it can't be created or updated again. Must be
+     * called on the main thread.
+     */
+    @MainThread
+    public void release() {
+        if (mContext == null) {
+            return;
         }
+        // drop the index being built and the filter
+        mIndexGeneration++;
+        mIndex = null;
+        mQuery = null;
 
-        wrapper.setBackgroundResource(AboutPageUtils.resolveResIdAttr(mContext, R.attr.selectableItemBackground, android.R.color.transparent));
+        if (mViews != null && mViews.recyclerView != null) {
+            mViews.recyclerView.setAdapter(null);
+        }
+        mView = null;
+        mViews = null;
+        mLinearRenderer = null;
+        mAdapter = null;
+        mCanvasView = null;
+        mRecycledViewPool = null;
+        mViewPool = null;
+
+        mMetrics.setListener(null);
+        mRowFactory.release();
+        mContext = null;
+        mInflater = null;
+    }
 
-        int padding = mContext.getResources().getDimensionPixelSize(R.dimen.about_text_padding);
-        wrapper.setPadding(padding, padding, padding, padding);
-        LinearLayout.LayoutParams wrapperParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
-        wrapper.setLayoutParams(wrapperParams);
+    /**
+     * @return the context of this AboutPage
+     * @throws IllegalStateException if the page is released
+     */
+    private Context requireContext() {
+        if (mContext == null) {
+            throw new IllegalStateException("This AboutPage has been released");
+        }
+        return mContext;
+    }
 
+    /**
+     * Update the content of this AboutPage after {@link #create()} was called. Only the rows that
+     * were added, removed or changed are rendered again, the other rows keep their views. Use
+     * {@link Element#setId(String)} to match the elements of both models. The elements displayed
+     * by the page can also be changed in place and given again, their rows are rebound.
+     *
+     * @param model the new content to display
+     * @return this AboutPage instance for builder pattern support
+     */
+    public AboutPage update(AboutPageModel model) {
+        mModel = model.buildUpon();
+        if (mView == null) {
+            return this;
+        }
 
-        TextView textView = new TextView(mContext);
-        TextViewCompat.setTextAppearance(textView, AboutPageUtils.resolveResIdAttr(mContext, R.attr.aboutElementTextAppearance, R.style.about_elementTextAppearance));
-        LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
-        textView.setLayoutParams(textParams);
-        if (mCustomFont != null) {
-            textView.setTypeface(mCustomFont);
+        if (mCanvasView != null) {
+            mCanvasView.setContent(HeaderImage.of(model), model.getDescription(), rows(model));
+        } else if (mAdapter != null) {
+            mAdapter.update(rows(model), HeaderImage.of(model), model.getDescription());
+        } else {
+            mRowFactory.bindHeader(mViews.imageView, mViews.descriptionView, HeaderImage.of(model), model.getDescription());
+            mLinearRenderer.update(rows(model));
         }
+        // the renderers dropped the filter, the positions of the elements changed
+        mIndex = null;
+        buildIndex(model);
+        return this;
+    }
 
-        ImageView iconView = null;
+    /**
+     * Replace the elements of this AboutPage, keeping its header image, its description and its
+     * groups. An element stays in the group of the element of the page it matches, by id or by
+     * instance, and a new element joins the group of the element before it in the list. The groups
+     * keep their title even once their elements are removed, use {@link #update(AboutPageModel)}
+     * to change the groups.
+     *
+     * @param elements the new elements to display
+     * @return this AboutPage instance for builder pattern support
+     * @see #update(AboutPageModel)
+     */
+    public AboutPage update(List<Element> elements) {
+        AboutPageModel current = mModel.build();
+        List<AboutPageModel.Group> groups = current.getGroups();
+        Map<Object, Integer> groupOf = new HashMap<>();
+        for (int i = 0; i < groups.size(); i++) {
+            GroupElements groupElements = groups.get(i).elements();
+            for (int j = 0; j < groupElements.size(); j++) {
+                groupOf.put(Row.identity(groupElements.get(j)), i);
+            }
+        }
 
-        if (element.getIconDrawable() != null) {
-            iconView = new ImageView(mContext);
-            int size = mContext.getResources().getDimensionPixelSize(R.dimen.about_icon_size);
-            LinearLayout.LayoutParams iconParams = new LinearLayout.LayoutParams(size, size);
-            iconView.setLayoutParams(iconParams);
-            int iconPadding = mContext.getResources().getDimensionPixelSize(R.dimen.about_icon_padding);
-            iconView.setPadding(iconPadding, 0, iconPadding, 0);
+        // a page without groups gets a leading group without title
+        int groupCount = Math.max(1, groups.size());
+        List<List<Element>> grouped = new ArrayList<>(groupCount);
+        for (int i = 0; i < groupCount; i++) {
+            grouped.add(new ArrayList<Element>());
+        }
+        int group = 0;
+        for (Element element : elements) {
+            Integer match = groupOf.get(Row.identity(element));
+            if (match != null) {
+                group = match;
+            }
+            grouped.get(group).add(element);
+        }
 
-            if (Build.VERSION.SDK_INT < 21) {
-                Drawable drawable = VectorDrawableCompat.create(iconView.getResources(), element.getIconDrawable(), iconView.getContext().getTheme());
-                iconView.setImageDrawable(drawable);
-            } else {
-                iconView.setImageResource(element.getIconDrawable());
+        AboutPageModel.Builder builder = current.buildHeaderUpon();
+        for (int i = 0; i < grouped.size(); i++) {
+            String title = i < groups.size() ? groups.get(i).getTitle() : null;
+            if (title != null) {
+                builder.addGroup(title);
+            }
+            for (Element element : grouped.get(i)) {
+                builder.addElement(element);
             }
+        }
+        return update(builder.build());
+    }
 
-            Drawable wrappedDrawable = DrawableCompat.wrap(iconView.getDrawable());
-            wrappedDrawable = wrappedDrawable.mutate();
-
-            final boolean isNightModeEnabled = AboutPageUtils.isNightModeEnabled(mContext);
-            final int iconColor = AboutPageUtils.resolveColorAttr(mContext, R.attr.aboutElementIconTint);
-            if (!element.getSkipTint()) {
-                if (element.getAutoApplyIconTint()) {
-                    if (isNightModeEnabled) {
-                        if (element.getIconNightTint() != null) {
-                            DrawableCompat.setTint(wrappedDrawable, ContextCompat.getColor(mContext, element.getIconNightTint()));
-                        } else {
-                            DrawableCompat.setTint(wrappedDrawable, iconColor);
-                        }
-                    } else {
-                        if (element.getIconTint() != null) {
-                            DrawableCompat.setTint(wrappedDrawable, ContextCompat.getColor(mContext, element.getIconTint()));
-                        } else {
-                            DrawableCompat.setTint(wrappedDrawable, iconColor);
-                        }
-                    }
+    private void setUpRecyclerView(AboutPageModel model) {
+        RecyclerView recyclerView = mViews.recyclerView;
+        recyclerView.setLayoutManager(new LinearLayoutManager(mContext));
+        recyclerView.setHasFixedSize(true);
+        if (mRowFactory.hasDrawnSeparators()) {
+            recyclerView.addItemDecoration(new SeparatorDecoration(mRowFactory.getStyle()));
+        }
+        if (mRecycledViewPool != null) {
+            recyclerView.setRecycledViewPool(mRecycledViewPool);
+        }
 
-                } else if (element.getIconTint() != null) {
-                    DrawableCompat.setTint(wrappedDrawable, ContextCompat.getColor(mContext, element.getIconTint()));
-                } else if (isNightModeEnabled) {
-                    DrawableCompat.setTint(wrappedDrawable, iconColor);
-                }
+        mAdapter = new AboutPageAdapter(mRowFactory, mInflater, rows(model), HeaderImage.of(model), model.getDescription());
+        recyclerView.setAdapter(mAdapter);
+    }
 
+    /**
+     * Index the given content on the background thread and filter the page with the index once
+     * it is built, unless another content is indexed in the meantime
+     */
+    private void buildIndex(final AboutPageModel model) {
+        if (!mUseSearchIndex || mContext == null) {
+            return;
+        }
+        final int generation = ++mIndexGeneration;
+        final Locale locale = locale();
+        AboutPageExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                if (generation != mIndexGeneration) {
+                    return;
+                }
+                final ElementIndex index = ElementIndex.build(model, locale);
+                AboutPageExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (generation == mIndexGeneration) {
+                            mIndex = index;
+                            applyFilter();
+                        }
+                    }
+                });
             }
+        });
+    }
 
-        } else {
-            int iconPadding = mContext.getResources().getDimensionPixelSize(R.dimen.about_icon_padding);
-            textView.setPadding(iconPadding, iconPadding, iconPadding, iconPadding);
+    /**
+     * Index the content again once the elements added in a row are rendered. The elements
+     * missing from the current index are displayed until then.
+     */
+    private void scheduleIndex() {
+        if (!mUseSearchIndex || mIndexScheduled) {
+            return;
         }
+        mIndexScheduled = true;
+        AboutPageExecutors.mainHandler().post(new Runnable() {
+            @Override
+            public void run() {
+                mIndexScheduled = false;
+                buildIndex(mModel.build());
+            }
+        });
+    }
 
-        textView.setText(element.getTitle());
-
+    @SuppressWarnings("deprecation")
+    private Locale locale() {
+        return mContext.getResources().getConfiguration().locale;
+    }
 
-        if (mIsRTL) {
+    private void applyFilter() {
+        // nothing to filter until a query is set
+        if (mIndex == null || mQuery == null) {
+            return;
+        }
+        ElementIndex.Matches matches = mIndex.search(mQuery);
+        if (mCanvasView != null) {
+            mCanvasView.setFilter(matches);
+        } else if (mAdapter != null) {
+            mAdapter.setFilter(matches);
+        } else {
+            mLinearRenderer.setFilter(matches);
+        }
+    }
 
-            final int gravity = element.getGravity() != null ? element.getGravity() : Gravity.END;
+    private List<Row> rows(AboutPageModel model) {
+        return Row.from(model, !mUseCanvas && mRowFactory.hasSeparatorRows());
+    }
 
-            wrapper.setGravity(gravity | Gravity.CENTER_VERTICAL);
-            //noinspection ResourceType
-            textParams.gravity = gravity | Gravity.CENTER_VERTICAL;
-            wrapper.addView(textView);
-            if (element.getIconDrawable() != null) {
-                wrapper.addView(iconView);
+    private void renderItem(Element element) {
+        if (mCanvasView != null) {
+            mCanvasView.addRows(Row.item(element));
+        } else if (mAdapter != null) {
+            if (mRowFactory.hasSeparatorRows()) {
+                mAdapter.addRows(Row.item(element), Row.separator(element));
+            } else {
+                mAdapter.addRows(Row.item(element));
             }
-
         } else {
-            final int gravity = element.getGravity() != null ? element.getGravity() : Gravity.START;
-            wrapper.setGravity(gravity | Gravity.CENTER_VERTICAL);
-            //noinspection ResourceType
-            textParams.gravity = gravity | Gravity.CENTER_VERTICAL;
-            if (element.getIconDrawable() != null) {
-                wrapper.addView(iconView);
+            mLinearRenderer.append(Row.item(element));
+            if (mRowFactory.hasSeparatorRows()) {
+                mLinearRenderer.append(Row.separator(element));
             }
-            wrapper.addView(textView);
         }
-
-        return wrapper;
     }
 
-    private View getSeparator() {
-        return mInflater.inflate(R.layout.about_page_separator, null);
+    private void renderGroup(String name) {
+        if (mCanvasView != null) {
+            mCanvasView.addRows(Row.group(name));
+        } else if (mAdapter != null) {
+            mAdapter.addRows(Row.group(name));
+        } else {
+            mLinearRenderer.append(Row.group(name));
+        }
     }
 }
@@ -0,0 +1,212 @@
+package mehdi.sakout.aboutpage;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Renders the rows of an {@link AboutPage} in a {@link RecyclerView}, so only the visible rows are
+ * inflated no matter how many elements the page holds.
+ */
+final class AboutPageAdapter extends RecyclerView.Adapter<AboutPageAdapter.RowHolder> {
+
+    static final class RowHolder extends RecyclerView.ViewHolder {
+        final RowFactory.ItemRow itemRow;
+
+        RowHolder(View itemView) {
+            super(itemView);
+            this.itemRow = null;
+        }
+
+        RowHolder(RowFactory.ItemRow itemRow) {
+            super(itemRow.view);
+            this.itemRow = itemRow;
+        }
+    }
+
+    private final RowFactory mRowFactory;
+    private final LayoutInflater mInflater;
+    private List<Row> mRows;
+    // the positions in mRows of the displayed rows, or null when all the rows are displayed
+    private int[] mPositions;
+    private ElementIndex.Matches mMatches;
+    private HeaderImage mImage;
+    private CharSequence mDescription;
+
+    /**
+     * @param rows the rows to display after the page header
+     */
+    AboutPageAdapter(RowFactory rowFactory, LayoutInflater inflater, List<Row> rows, HeaderImage image, CharSequence description) {
+        this.mRowFactory = rowFactory;
+        this.mInflater = inflater;
+        this.mRows = withHeader(rows);
+        this.mImage = image;
+        this.mDescription = description;
+    }
+
+    private static List<Row> withHeader(List<Row> rows) {
+        List<Row> result = new ArrayList<>(rows.size() + 1);
+        result.add(Row.header());
+        result.addAll(rows);
+        return result;
+    }
+
+    void addRows(Row... rows) {
+        addRows(Arrays.asList(rows));
+    }
+
+    void addRows(List<Row> rows) {
+        int position = mRows.size();
+        mRows.addAll(rows);
+        if (mPositions != null) {
+            // a hidden group title can be displayed again
+            setFilter(mMatches);
+            return;
+        }
+        notifyItemRangeInserted(position, rows.size());
+    }
+
+    /**
+     * Only display the rows of the given elements. The displayed rows are all rebound, which is
+     * cheap as only the rows on screen are.
+     *
+     * @param matches the elements to display, or null to display all the rows
+     */
+    void setFilter(ElementIndex.Matches matches) {
+        mMatches = matches;
+        BitSet visible = Row.visibleRows(mRows, matches);
+        if (visible == null) {
+            mPositions = null;
+        } else {
+            mPositions = new int[visible.cardinality()];
+            int position = 0;
+            for (int i = visible.nextSetBit(0); i >= 0; i = visible.nextSetBit(i + 1)) {
+                mPositions[position++] = i;
+            }
+        }
+        notifyDataSetChanged();
+    }
+
+    private Row getRow(int position) {
+        return mRows.get(mPositions != null ? mPositions[position] : position);
+    }
+
+    /**
+     * Display the given rows, only notifying the rows that were added, removed or changed. The
+     * filter is cleared, its matches being positions of the previous rows.
+     */
+    void update(List<Row> rows, HeaderImage image, CharSequence description) {
+        if (mPositions != null) {
+            mRows = withHeader(rows);
+            mImage = image;
+            mDescription = description;
+            setFilter(null);
+            return;
+        }
+
+        final List<Row> oldRows = mRows;
+        final List<Row> newRows = withHeader(rows);
+        final List<Row.Key> oldKeys = Row.keys(oldRows);
+        final List<Row.Key> newKeys = Row.keys(newRows);
+        final boolean headerChanged = (mImage == null ? image != null : !mImage.equals(image)) || !TextUtils.equals(mDescription, description);
+
+        DiffUtil.DiffResult result = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return oldRows.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return newRows.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldPosition, int newPosition) {
+                return oldKeys.get(oldPosition).equals(newKeys.get(newPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldPosition, int newPosition) {
+                Row row = newRows.get(newPosition);
+                if (row.type == Row.TYPE_HEADER) {
+                    return !headerChanged;
+                }
+                return row.hasSameContent(oldRows.get(oldPosition));
+            }
+        });
+
+        mRows = newRows;
+        mImage = image;
+        mDescription = description;
+        result.dispatchUpdatesTo(this);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getRow(position).type;
+    }
+
+    @Override
+    public int getItemCount() {
+        return mPositions != null ? mPositions.length : mRows.size();
+    }
+
+    @NonNull
+    @Override
+    public RowHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        switch (viewType) {
+            case Row.TYPE_HEADER:
+                LinearLayout header = new LinearLayout(parent.getContext());
+                header.setOrientation(LinearLayout.VERTICAL);
+                header.setLayoutParams(matchParentWidth());
+                mInflater.inflate(R.layout.about_page_header, header, true);
+                return new RowHolder(header);
+            case Row.TYPE_GROUP:
+                TextView group = mRowFactory.createGroupRow();
+                // the text gravity aligns the title, the row itself spans the list
+                group.setLayoutParams(matchParentWidth());
+                return new RowHolder(group);
+            case Row.TYPE_ITEM:
+                return new RowHolder(mRowFactory.createItemRow());
+            case Row.TYPE_SEPARATOR:
+                return new RowHolder(mRowFactory.createSeparator(parent));
+            default:
+                throw new IllegalArgumentException("Unknown view type " + viewType);
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RowHolder holder, int position) {
+        Row row = getRow(position);
+        switch (row.type) {
+            case Row.TYPE_HEADER:
+                mRowFactory.bindHeader(holder.itemView, mImage, mDescription);
+                break;
+            case Row.TYPE_GROUP:
+                mRowFactory.bindGroup((TextView) holder.itemView, row.group);
+                break;
+            case Row.TYPE_ITEM:
+                mRowFactory.bindItem(holder.itemRow, row.toElement());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static RecyclerView.LayoutParams matchParentWidth() {
+        return new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+    }
+}
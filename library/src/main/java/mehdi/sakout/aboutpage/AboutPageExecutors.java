@@ -0,0 +1,65 @@
+package mehdi.sakout.aboutpage;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared threads used by the library for work that must stay off the main thread.
+ */
+final class AboutPageExecutors {
+
+    private static final ExecutorService sBackground;
+    private static final Handler sMainHandler = new Handler(Looper.getMainLooper());
+
+    static {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), new BackgroundThreadFactory());
+        executor.allowCoreThreadTimeOut(true);
+        sBackground = executor;
+    }
+
+    private AboutPageExecutors() {
+    }
+
+    /**
+     * @return a single-threaded executor running at background priority
+     */
+    static ExecutorService background() {
+        return sBackground;
+    }
+
+    static Handler mainHandler() {
+        return sMainHandler;
+    }
+
+    static boolean isMainThread() {
+        return Looper.myLooper() == Looper.getMainLooper();
+    }
+
+    private static class BackgroundThreadFactory implements ThreadFactory {
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                    runnable.run();
+                }
+            }, "AboutPage-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
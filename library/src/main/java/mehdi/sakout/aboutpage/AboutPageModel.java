@@ -0,0 +1,240 @@
+package mehdi.sakout.aboutpage;
+
+import android.net.Uri;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable description of the content of an {@link AboutPage}: the header image, the description
+ * and the groups of {@link Element}s, in display order.
+ * <p>
+ * The model holds no views and needs no {@link android.content.Context}, so it can be built on any
+ * thread, kept across configuration changes and rendered later with
+ * {@link AboutPage#setModel(AboutPageModel)}.
+ */
+public final class AboutPageModel {
+
+    private final int image;
+    private final Uri imageUri;
+    private final CharSequence description;
+    private final List<Group> groups;
+
+    private AboutPageModel(Builder builder) {
+        this.image = builder.image;
+        this.imageUri = builder.imageUri;
+        this.description = builder.description;
+        List<Group> groups = new ArrayList<>(builder.groups.size());
+        for (Builder.GroupBuilder group : builder.groups) {
+            groups.add(new Group(group.title, group.elements.build()));
+        }
+        this.groups = Collections.unmodifiableList(groups);
+    }
+
+    /**
+     * @return the drawable resource of the header image, or 0 when none is set
+     */
+    @DrawableRes
+    public int getImage() {
+        return image;
+    }
+
+    /**
+     * @return the URI of the header image when it is set instead of a drawable resource, or null
+     */
+    @Nullable
+    public Uri getImageUri() {
+        return imageUri;
+    }
+
+    @Nullable
+    public CharSequence getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the groups of this page in display order. Elements added before the first group
+     * belong to a leading group without title.
+     */
+    @NonNull
+    public List<Group> getGroups() {
+        return groups;
+    }
+
+    /**
+     * @return the number of elements of all groups
+     */
+    public int getElementCount() {
+        int count = 0;
+        for (Group group : groups) {
+            count += group.getElements().size();
+        }
+        return count;
+    }
+
+    /**
+     * @return a builder initialized with the content of this model
+     */
+    @NonNull
+    public Builder buildUpon() {
+        Builder builder = buildHeaderUpon();
+        for (Group group : groups) {
+            if (group.getTitle() != null) {
+                builder.addGroup(group.getTitle());
+            }
+            builder.addElements(group.elements);
+        }
+        return builder;
+    }
+
+    /**
+     * @return a builder initialized with the header of this model, without its groups
+     */
+    @NonNull
+    Builder buildHeaderUpon() {
+        Builder builder = new Builder().setDescription(description);
+        builder.image = image;
+        builder.imageUri = imageUri;
+        return builder;
+    }
+
+    /**
+     * A titled list of elements
+     */
+    public static final class Group {
+        private final String title;
+        private final GroupElements elements;
+
+        Group(@Nullable String title, GroupElements elements) {
+            this.title = title;
+            this.elements = elements;
+        }
+
+        /**
+         * @return the title of this group, null for the elements added before the first group
+         */
+        @Nullable
+        public String getTitle() {
+            return title;
+        }
+
+        /**
+         * @return the elements of this group, the entries of an {@link ElementList} are turned into
+         * elements as they are read
+         */
+        @NonNull
+        public List<Element> getElements() {
+            return elements;
+        }
+
+        @NonNull
+        GroupElements elements() {
+            return elements;
+        }
+    }
+
+    /**
+     * Builds an {@link AboutPageModel}. Elements are appended to the last added group.
+     */
+    public static final class Builder {
+        private int image = 0;
+        private Uri imageUri;
+        private CharSequence description;
+        private final List<GroupBuilder> groups = new ArrayList<>();
+
+        private static final class GroupBuilder {
+            final String title;
+            final GroupElements.Builder elements = new GroupElements.Builder();
+
+            GroupBuilder(String title) {
+                this.title = title;
+            }
+        }
+
+        public Builder setImage(@DrawableRes int image) {
+            this.image = image;
+            this.imageUri = null;
+            return this;
+        }
+
+        /**
+         * Display the image at the given URI in the header, in place of a drawable resource. The
+         * image is decoded off the main thread.
+         *
+         * @param uri a content, file or android.resource URI
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder setImage(@NonNull Uri uri) {
+            this.image = 0;
+            this.imageUri = uri;
+            return this;
+        }
+
+        /**
+         * Display an image of the assets in the header, in place of a drawable resource
+         *
+         * @param path the path of the image in the assets
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder setImageAsset(@NonNull String path) {
+            return setImage(HeaderImage.assetUri(path));
+        }
+
+        public Builder setDescription(@Nullable CharSequence description) {
+            this.description = description;
+            return this;
+        }
+
+        /**
+         * Start a new group, the following elements will be displayed under its title
+         *
+         * @param title the title of the group
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder addGroup(@NonNull String title) {
+            groups.add(new GroupBuilder(title));
+            return this;
+        }
+
+        public Builder addElement(@NonNull Element element) {
+            lastGroup().elements.add(element);
+            return this;
+        }
+
+        /**
+         * Add all the elements of the given list to the last added group. The entries stay in the
+         * list, they are only turned into elements once they are read.
+         *
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder addElements(@NonNull ElementList elements) {
+            lastGroup().elements.addAll(elements, 0, elements.size());
+            return this;
+        }
+
+        /**
+         * Add the elements of a group of another model to the last added group
+         */
+        Builder addElements(@NonNull GroupElements elements) {
+            lastGroup().elements.addAll(elements);
+            return this;
+        }
+
+        @NonNull
+        public AboutPageModel build() {
+            return new AboutPageModel(this);
+        }
+
+        private GroupBuilder lastGroup() {
+            if (groups.isEmpty()) {
+                groups.add(new GroupBuilder(null));
+            }
+            return groups.get(groups.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+
+/**
+ * The content and the options of an {@link AboutPage}, saved with {@link AboutPage#snapshot()} and
+ * turned back into a page with {@link AboutPage#restore(android.content.Context, AboutPageSnapshot)}
+ * without running the code that built it. For e.g:
+ * <p>
+ * <code>
+ * protected void onSaveInstanceState(Bundle outState) {
+ * super.onSaveInstanceState(outState);
+ * outState.putParcelable("about", mAboutPage.snapshot());
+ * }
+ * </code>
+ * <p>
+ * A snapshot holds the theme, the header, the groups and the elements with their intents and
+ * {@link DeepLink}s, the rendering options and the path of the custom font. Listeners, intent
+ * providers that aren't {@link Parcelable} and fonts set as a {@link android.graphics.Typeface}
+ * can't be saved: they are missing from the restored page, set them again on the elements of
+ * {@link AboutPage#getModel()}, for e.g by {@link Element#getId()}.
+ */
+public final class AboutPageSnapshot implements Parcelable {
+
+    static final int FLAG_RTL = 1;
+    static final int FLAG_RECYCLER_VIEW = 1 << 1;
+    static final int FLAG_COMPACT_ROWS = 1 << 2;
+    static final int FLAG_DRAWN_SEPARATORS = 1 << 3;
+    static final int FLAG_FLAT_LAYOUT = 1 << 4;
+    static final int FLAG_CANVAS = 1 << 5;
+    static final int FLAG_PRECOMPUTED_TEXT = 1 << 6;
+    static final int FLAG_SEARCH_INDEX = 1 << 7;
+
+    // header of the byte array form, so other data or other versions of the format are ignored
+    private static final int MAGIC = 0x41425053;
+    private static final int FORMAT_VERSION = 1;
+
+    @StyleRes
+    final int style;
+    final int flags;
+    final String customFont;
+    final AboutPageModel model;
+
+    AboutPageSnapshot(@StyleRes int style, int flags, @Nullable String customFont, @NonNull AboutPageModel model) {
+        this.style = style;
+        this.flags = flags;
+        this.customFont = customFont;
+        this.model = model;
+    }
+
+    boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    /**
+     * @return the content of the saved page
+     */
+    @NonNull
+    public AboutPageModel getModel() {
+        return model;
+    }
+
+    /**
+     * Write this snapshot to bytes, for e.g to cache the page on disk. The bytes can only be read
+     * back on the same version of Android, clear the cache when your app is updated.
+     *
+     * @return the bytes to pass to {@link #fromByteArray(byte[])}
+     */
+    @NonNull
+    public byte[] toByteArray() {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.writeInt(MAGIC);
+            parcel.writeInt(FORMAT_VERSION);
+            parcel.writeInt(Build.VERSION.SDK_INT);
+            writeToParcel(parcel, 0);
+            return parcel.marshall();
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    /**
+     * @param bytes the bytes written by {@link #toByteArray()}
+     * @return the snapshot, or null when the bytes were written by another version of the library
+     * or of Android, or are corrupted
+     */
+    @Nullable
+    public static AboutPageSnapshot fromByteArray(@NonNull byte[] bytes) {
+        Parcel parcel = Parcel.obtain();
+        try {
+            parcel.unmarshall(bytes, 0, bytes.length);
+            parcel.setDataPosition(0);
+            if (parcel.readInt() != MAGIC
+                    || parcel.readInt() != FORMAT_VERSION
+                    || parcel.readInt() != Build.VERSION.SDK_INT) {
+                return null;
+            }
+            return CREATOR.createFromParcel(parcel);
+        } catch (RuntimeException e) {
+            return null;
+        } finally {
+            parcel.recycle();
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeInt(style);
+        dest.writeInt(this.flags);
+        dest.writeString(customFont);
+
+        dest.writeInt(model.getImage());
+        Uri.writeToParcel(dest, model.getImageUri());
+        TextUtils.writeToParcel(model.getDescription(), dest, flags);
+
+        dest.writeInt(model.getGroups().size());
+        for (AboutPageModel.Group group : model.getGroups()) {
+            dest.writeString(group.getTitle());
+            GroupElements elements = group.elements();
+            dest.writeInt(elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                writeElement(dest, elements.get(i), flags);
+            }
+        }
+    }
+
+    private static void writeElement(Parcel dest, Element element, int flags) {
+        dest.writeString(element.getId());
+        dest.writeString(element.getTitle());
+        dest.writeValue(element.getIconDrawable());
+        dest.writeValue(element.getIconTint());
+        dest.writeValue(element.getIconNightTint());
+        dest.writeString(element.getValue());
+        dest.writeValue(element.getGravity());
+        dest.writeValue(element.getAutoApplyIconTint());
+        dest.writeValue(element.getSkipTint());
+        dest.writeParcelable(element.getIntent(), flags);
+        Element.IntentProvider provider = element.getIntentProvider();
+        dest.writeParcelable(provider instanceof Parcelable ? (Parcelable) provider : null, flags);
+    }
+
+    private static Element readElement(Parcel source) {
+        ClassLoader classLoader = AboutPageSnapshot.class.getClassLoader();
+        Element element = new Element()
+                .setId(source.readString())
+                .setTitle(source.readString())
+                .setIconDrawable((Integer) source.readValue(classLoader))
+                .setIconTint((Integer) source.readValue(classLoader))
+                .setIconNightTint((Integer) source.readValue(classLoader))
+                .setValue(source.readString())
+                .setGravity((Integer) source.readValue(classLoader))
+                .setAutoApplyIconTint((Boolean) source.readValue(classLoader));
+        element.setSkipTint((Boolean) source.readValue(classLoader));
+        element.setIntent(source.<Intent>readParcelable(classLoader));
+        element.setIntentProvider((Element.IntentProvider) source.readParcelable(classLoader));
+        return element;
+    }
+
+    public static final Creator<AboutPageSnapshot> CREATOR = new Creator<AboutPageSnapshot>() {
+        @Override
+        public AboutPageSnapshot createFromParcel(Parcel source) {
+            int style = source.readInt();
+            int flags = source.readInt();
+            String customFont = source.readString();
+
+            AboutPageModel.Builder model = new AboutPageModel.Builder();
+            int image = source.readInt();
+            Uri imageUri = Uri.CREATOR.createFromParcel(source);
+            if (imageUri != null) {
+                model.setImage(imageUri);
+            } else {
+                model.setImage(image);
+            }
+            model.setDescription(TextUtils.CHAR_SEQUENCE_CREATOR.createFromParcel(source));
+
+            int groupCount = source.readInt();
+            for (int i = 0; i < groupCount; i++) {
+                String title = source.readString();
+                if (title != null) {
+                    model.addGroup(title);
+                }
+                int elementCount = source.readInt();
+                for (int j = 0; j < elementCount; j++) {
+                    model.addElement(readElement(source));
+                }
+            }
+            return new AboutPageSnapshot(style, flags, customFont, model.build());
+        }
+
+        @Override
+        public AboutPageSnapshot[] newArray(int size) {
+            return new AboutPageSnapshot[size];
+        }
+    };
+}
@@ -0,0 +1,60 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.util.TypedValue;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.StyleRes;
+
+/**
+ * Theme attributes and dimensions of an {@link AboutPage}, resolved once when the page is
+ * constructed and shared by all of its rows.
+ */
+final class AboutPageStyle {
+
+    @StyleRes
+    final int elementTextAppearance;
+    @StyleRes
+    final int groupTextAppearance;
+    @StyleRes
+    final int descriptionTextAppearance;
+    @DrawableRes
+    final int itemBackground;
+    @ColorInt
+    final int iconTint;
+    @ColorInt
+    final int separatorColor;
+    @ColorInt
+    final int background;
+
+    final int iconSize;
+    final int iconPadding;
+    final int textPadding;
+    final int groupTextPadding;
+    final int separatorHeight;
+
+    final boolean isNightModeEnabled;
+
+    AboutPageStyle(@NonNull Context context) {
+        final TypedValue value = new TypedValue();
+        elementTextAppearance = AboutPageUtils.resolveResIdAttr(context, R.attr.aboutElementTextAppearance, R.style.about_elementTextAppearance, value);
+        groupTextAppearance = AboutPageUtils.resolveResIdAttr(context, R.attr.aboutGroupTextAppearance, R.style.about_groupTextAppearance, value);
+        descriptionTextAppearance = AboutPageUtils.resolveResIdAttr(context, R.attr.aboutDescriptionTextAppearance, R.style.about_descriptionTextAppearance, value);
+        itemBackground = AboutPageUtils.resolveResIdAttr(context, R.attr.selectableItemBackground, android.R.color.transparent, value);
+        iconTint = AboutPageUtils.resolveColorAttr(context, R.attr.aboutElementIconTint, value);
+        separatorColor = AboutPageUtils.resolveColorAttr(context, R.attr.aboutSeparatorColor, value);
+        background = AboutPageUtils.resolveColorAttr(context, R.attr.aboutBackground, value);
+
+        final Resources resources = context.getResources();
+        iconSize = resources.getDimensionPixelSize(R.dimen.about_icon_size);
+        iconPadding = resources.getDimensionPixelSize(R.dimen.about_icon_padding);
+        textPadding = resources.getDimensionPixelSize(R.dimen.about_text_padding);
+        groupTextPadding = resources.getDimensionPixelSize(R.dimen.about_group_text_padding);
+        separatorHeight = resources.getDimensionPixelSize(R.dimen.about_separator_height);
+
+        isNightModeEnabled = AboutPageUtils.isNightModeEnabled(context);
+    }
+}
@@ -1,8 +1,6 @@
 package mehdi.sakout.aboutpage;
 
 import android.content.Context;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.util.TypedValue;
@@ -12,28 +10,19 @@ import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 
-import java.util.List;
-
 class AboutPageUtils {
 
-    static Boolean isAppInstalled(Context context, String appName) {
-        PackageManager pm = context.getPackageManager();
-        boolean installed = false;
-        List<PackageInfo> packages = pm.getInstalledPackages(0);
-
-        for (PackageInfo packageInfo : packages) {
-            if (packageInfo.packageName.equals(appName)) {
-                installed = true;
-                break;
-            }
-        }
-
-        return installed;
+    @ColorInt
+    static int resolveColorAttr(@NonNull Context context, @AttrRes int attr) {
+        return resolveColorAttr(context, attr, new TypedValue());
     }
 
+    /**
+     * @param outValue a reusable value to resolve the attribute into
+     */
     @ColorInt
-    static int resolveColorAttr(@NonNull Context context, @AttrRes int attr) {
-        final TypedValue outValue = resolveAttr(context, attr);
+    static int resolveColorAttr(@NonNull Context context, @AttrRes int attr, @NonNull TypedValue outValue) {
+        resolveAttr(context, attr, outValue);
         if (outValue.type >= TypedValue.TYPE_FIRST_COLOR_INT && outValue.type <= TypedValue.TYPE_LAST_COLOR_INT) {
             return outValue.data;
         }
@@ -42,22 +31,28 @@ class AboutPageUtils {
     }
 
     static int resolveResIdAttr(@NonNull Context context, @AttrRes int attr, int defaultValue) {
+        return resolveResIdAttr(context, attr, defaultValue, new TypedValue());
+    }
+
+    /**
+     * @param outValue a reusable value to resolve the attribute into
+     */
+    static int resolveResIdAttr(@NonNull Context context, @AttrRes int attr, int defaultValue, @NonNull TypedValue outValue) {
         try {
-            return resolveAttr(context, attr).resourceId;
+            return resolveAttr(context, attr, outValue).resourceId;
         } catch (Resources.NotFoundException e) {
             return defaultValue;
         }
     }
 
     @NonNull
-    private static TypedValue resolveAttr(@NonNull Context context, @AttrRes int attr) {
-        final TypedValue outValue = new TypedValue();
+    private static TypedValue resolveAttr(@NonNull Context context, @AttrRes int attr, @NonNull TypedValue outValue) {
         if (!context.getTheme().resolveAttribute(attr, outValue, true)) {
             throw new Resources.NotFoundException("'" + context.getResources().getResourceName(attr) + "' is not set.");
         }
 
         if (outValue.type == TypedValue.TYPE_ATTRIBUTE) {
-            return resolveAttr(context, outValue.data);
+            return resolveAttr(context, outValue.data, outValue);
         }
 
         return outValue;
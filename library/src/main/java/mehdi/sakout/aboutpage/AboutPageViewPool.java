@@ -0,0 +1,125 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+import androidx.appcompat.view.ContextThemeWrapper;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps inflated AboutPage root views, without their rows, so the next {@link AboutPage} created
+ * with {@link AboutPage#setViewPool(AboutPageViewPool)} skips inflating its layout. Useful when
+ * the page is displayed in tabs, dialogs or fragments that are created repeatedly.
+ * <p>
+ * Roots are either inflated ahead of time with {@link #prefetch(int)}, while the main thread is
+ * idle, or given back with {@link #recycle(View)} once a page isn't displayed anymore. The views
+ * hold the context of the pool, so a pool must only be used by the pages of the same Activity.
+ * All methods must be called on the main thread.
+ */
+public final class AboutPageViewPool {
+
+    private static final int MAX_POOLED_VIEWS = 4;
+
+    private final Context mContext;
+    private final Map<Long, ArrayDeque<PageViews>> mPooled = new HashMap<>();
+
+    /**
+     * @param context the context of the Activity displaying the pages
+     */
+    public AboutPageViewPool(@NonNull Context context) {
+        this.mContext = context;
+    }
+
+    /**
+     * Convenience method for {@link #prefetch(int, int, boolean, boolean)} for pages created with the
+     * default style and rendered in a {@link android.widget.ScrollView}
+     *
+     * @param count the number of roots to inflate
+     * @return this AboutPageViewPool instance for builder pattern support
+     */
+    public AboutPageViewPool prefetch(int count) {
+        return prefetch(count, AboutPage.defaultStyle(mContext), false, false);
+    }
+
+    /**
+     * Inflate the roots of the pages to come when the main thread is idle, one root per idle pass.
+     *
+     * @param count           the number of roots to inflate
+     * @param style           the style the pages will be created with
+     * @param useRecyclerView true for pages rendered with {@link AboutPage#useRecyclerView(boolean)}
+     * @param useFlatLayout   true for pages rendered with {@link AboutPage#useFlatLayout(boolean)}
+     * @return this AboutPageViewPool instance for builder pattern support
+     */
+    public AboutPageViewPool prefetch(final int count, @StyleRes final int style, boolean useRecyclerView, boolean useFlatLayout) {
+        final int layout = AboutPage.rootLayout(useRecyclerView, useFlatLayout);
+        Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+            private int mRemaining = count;
+
+            @Override
+            public boolean queueIdle() {
+                if (mRemaining <= 0 || queue(layout, style).size() >= MAX_POOLED_VIEWS) {
+                    return false;
+                }
+                LayoutInflater inflater = LayoutInflater.from(new ContextThemeWrapper(mContext, style));
+                queue(layout, style).add(PageViews.inflate(inflater, layout, style));
+                return --mRemaining > 0;
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Give back the root view of a page that isn't displayed anymore, for e.g from
+     * {@link android.app.Fragment#onDestroyView()}. The page must not be updated afterwards.
+     *
+     * @param root the view returned by {@link AboutPage#create()}
+     */
+    public void recycle(@NonNull View root) {
+        PageViews views = PageViews.from(root);
+        if (views == null) {
+            return;
+        }
+        if (root.getParent() instanceof ViewGroup) {
+            ((ViewGroup) root.getParent()).removeView(root);
+        }
+
+        ArrayDeque<PageViews> queue = queue(views.layout, views.style);
+        if (queue.size() < MAX_POOLED_VIEWS && !queue.contains(views)) {
+            views.reset();
+            queue.add(views);
+        }
+    }
+
+    /**
+     * Drop all the pooled views
+     */
+    public void clear() {
+        mPooled.clear();
+    }
+
+    @Nullable
+    PageViews acquire(@LayoutRes int layout, @StyleRes int style) {
+        return queue(layout, style).poll();
+    }
+
+    private ArrayDeque<PageViews> queue(int layout, int style) {
+        Long key = ((long) layout << 32) | (style & 0xffffffffL);
+        ArrayDeque<PageViews> queue = mPooled.get(key);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            mPooled.put(key, queue);
+        }
+        return queue;
+    }
+}
@@ -0,0 +1,60 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.util.AttributeSet;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * The vertical layout holding the rows of an {@link AboutPage} rendered in a
+ * {@link android.widget.ScrollView}. It draws the separators of the rows when
+ * {@link AboutPage#useDrawnSeparators(boolean)} is enabled.
+ */
+public final class AboutProvidersLayout extends LinearLayout {
+
+    private SeparatorDecoration mSeparators;
+
+    public AboutProvidersLayout(Context context) {
+        super(context);
+    }
+
+    public AboutProvidersLayout(Context context, @Nullable AttributeSet attrs) {
+        super(context, attrs);
+    }
+
+    public AboutProvidersLayout(Context context, @Nullable AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+    }
+
+    void setSeparatorDecoration(@Nullable SeparatorDecoration separators) {
+        this.mSeparators = separators;
+        invalidate();
+    }
+
+    /**
+     * Add the given rows after the other ones, requesting a single layout for all of them instead
+     * of one per row
+     */
+    void addRows(List<View> rows) {
+        for (View row : rows) {
+            ViewGroup.LayoutParams params = row.getLayoutParams();
+            addViewInLayout(row, -1, params != null ? params : generateDefaultLayoutParams(), true);
+        }
+        requestLayout();
+        invalidate();
+    }
+
+    @Override
+    protected void dispatchDraw(Canvas canvas) {
+        super.dispatchDraw(canvas);
+        if (mSeparators != null) {
+            mSeparators.drawChildren(canvas, 0, getWidth(), this);
+        }
+    }
+}
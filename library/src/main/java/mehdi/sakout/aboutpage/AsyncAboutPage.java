@@ -0,0 +1,176 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.view.View;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.StyleRes;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Builds an {@link AboutPage} on a worker thread and hands the finished {@link View} back to the
+ * main thread.
+ * <p>
+ * The {@link Builder} receives a fresh {@link AboutPage} on the worker thread, so the inflation of
+ * the page and of every element, along with the resolution of intents, drawables and colors, never
+ * runs on the main thread. For e.g:
+ * <p>
+ * <code>
+ * new AsyncAboutPage(this)
+ * .cancelOn(this)
+ * .create(new AsyncAboutPage.Builder() {
+ * public void onBuild(AboutPage page) { page.addGroup("Connect with us").addEmail("us@example.com"); }
+ * }, new AsyncAboutPage.Callback() {
+ * public void onCreated(View view) { setContentView(view); }
+ * });
+ * </code>
+ * <p>
+ * An AsyncAboutPage creates a single page; calling {@link #create(Builder, Callback)} a second time
+ * throws an {@link IllegalStateException}.
+ *
+ * @see AboutPage
+ */
+public class AsyncAboutPage {
+
+    /**
+     * Populates the {@link AboutPage} on the worker thread. Don't touch views attached to a window
+     * from here.
+     */
+    public interface Builder {
+        @WorkerThread
+        void onBuild(@NonNull AboutPage page);
+    }
+
+    /**
+     * Receives the created about page on the main thread. It is never invoked once the page has been
+     * cancelled.
+     */
+    public interface Callback {
+        @MainThread
+        void onCreated(@NonNull View view);
+    }
+
+    private final Context mContext;
+    private final int mStyle;
+    private Executor mExecutor = AboutPageExecutors.background();
+    private volatile boolean mCancelled = false;
+    private boolean mCreated = false;
+
+    public AsyncAboutPage(Context context) {
+        this(context, AboutPage.defaultStyle(context));
+    }
+
+    public AsyncAboutPage(Context context, boolean forceEnableDarkMode) {
+        this(context, forceEnableDarkMode ? R.style.about_AboutBase_Dark : R.style.about_AboutBase_Light);
+    }
+
+    public AsyncAboutPage(Context context, @StyleRes int style) {
+        this.mContext = context;
+        this.mStyle = style;
+    }
+
+    /**
+     * Use another executor than the library's background thread to build the page
+     *
+     * @param executor the executor that runs the {@link Builder}
+     * @return this AsyncAboutPage instance for builder pattern support
+     */
+    public AsyncAboutPage setExecutor(@NonNull Executor executor) {
+        this.mExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Cancel the creation of this page when the given lifecycle owner is destroyed. Must be called on
+     * the main thread.
+     *
+     * @param owner the Activity or Fragment hosting the about page
+     * @return this AsyncAboutPage instance for builder pattern support
+     */
+    @MainThread
+    public AsyncAboutPage cancelOn(@NonNull LifecycleOwner owner) {
+        final Lifecycle lifecycle = owner.getLifecycle();
+        if (lifecycle.getCurrentState() == Lifecycle.State.DESTROYED) {
+            cancel();
+            return this;
+        }
+
+        lifecycle.addObserver(new LifecycleEventObserver() {
+            @Override
+            public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    lifecycle.removeObserver(this);
+                    cancel();
+                }
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Build the page on the worker executor and deliver it to the callback on the main thread.
+     *
+     * @param builder  adds the elements to the page
+     * @param callback receives the created view
+     * @return this AsyncAboutPage instance so the creation can be cancelled
+     */
+    public synchronized AsyncAboutPage create(@NonNull final Builder builder, @NonNull final Callback callback) {
+        if (mCreated) {
+            throw new IllegalStateException("This AsyncAboutPage has already been created");
+        }
+        mCreated = true;
+
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (mCancelled) {
+                    return;
+                }
+
+                final View view;
+                try {
+                    AboutPage page = new AboutPage(mContext, mStyle);
+                    builder.onBuild(page);
+                    view = page.create();
+                } catch (final RuntimeException e) {
+                    // surface the failure on the main thread, as if the page had been built there
+                    AboutPageExecutors.mainHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            throw e;
+                        }
+                    });
+                    return;
+                }
+
+                AboutPageExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (!mCancelled) {
+                            callback.onCreated(view);
+                        }
+                    }
+                });
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Stop building the page. The callback won't be invoked after this method returns on the main
+     * thread.
+     */
+    public void cancel() {
+        mCancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+}
@@ -0,0 +1,676 @@
+package mehdi.sakout.aboutpage;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.content.res.Resources;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.text.Layout;
+import android.text.StaticLayout;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.text.style.TextAppearanceSpan;
+import android.view.GestureDetector;
+import android.view.Gravity;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.SoundEffectConstants;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A single view drawing a whole {@link AboutPage}: the header, the groups and the elements.
+ * <p>
+ * The text of each row is laid out once in a {@link StaticLayout} when the width of the view is
+ * known, only the visible rows are drawn and their icons are loaded when they are first drawn.
+ * The view scrolls its content itself, handles the clicks of the rows and exposes them to the
+ * accessibility services as virtual views.
+ */
+@SuppressLint("ViewConstructor")
+final class CanvasPageView extends View {
+
+    // virtual view id of the header, the rows use their index in mRows
+    private static final int HEADER_ID = Integer.MAX_VALUE;
+
+    private final RowFactory mRowFactory;
+    private final AboutPageStyle mStyle;
+    private final TextPaint mElementPaint;
+    private final TextPaint mGroupPaint;
+    private final TextPaint mDescriptionPaint;
+    private final float mDescriptionSpacing;
+    private final Paint mSeparatorPaint = new Paint();
+    private final Drawable mRowBackground;
+    private final int mHeaderPadding;
+    // the space above the image and below the description
+    private final int mHeaderTop;
+    private final int mHeaderBottom;
+    private final int mImageMarginBottom;
+    private final OverScroller mScroller;
+    private final GestureDetector mGestureDetector;
+    private final AccessibilityHelper mAccessibilityHelper;
+
+    private HeaderImage mImageSource;
+    private Drawable mImage;
+    private CharSequence mDescription;
+    private final List<RowLayout> mAllRows = new ArrayList<>();
+    // the displayed rows, all of them unless the elements are filtered
+    private final List<RowLayout> mRows = new ArrayList<>();
+    private ElementIndex.Matches mMatches;
+
+    private int mLaidOutWidth = -1;
+    private StaticLayout mDescriptionLayout;
+    private int mHeaderHeight;
+    private int mContentHeight;
+    private int mPressedRow = -1;
+
+    private static final class RowLayout {
+        final Row row;
+        int top;
+        int height;
+        int textLeft;
+        int textTop;
+        StaticLayout text;
+        Drawable icon;
+
+        RowLayout(Row row) {
+            this.row = row;
+        }
+    }
+
+    CanvasPageView(Context context, @NonNull RowFactory rowFactory) {
+        super(context);
+        this.mRowFactory = rowFactory;
+        this.mStyle = rowFactory.getStyle();
+
+        mElementPaint = createPaint(context, mStyle.elementTextAppearance);
+        mGroupPaint = createPaint(context, mStyle.groupTextAppearance);
+        mDescriptionPaint = createPaint(context, mStyle.descriptionTextAppearance);
+        TypedArray appearance = context.obtainStyledAttributes(mStyle.descriptionTextAppearance, new int[]{android.R.attr.lineSpacingExtra});
+        mDescriptionSpacing = appearance.getDimension(0, 0);
+        appearance.recycle();
+        mSeparatorPaint.setColor(mStyle.separatorColor);
+
+        mRowBackground = ContextCompat.getDrawable(context, mStyle.itemBackground);
+        if (mRowBackground != null) {
+            mRowBackground.setCallback(this);
+        }
+
+        // the margins of the about_sub_wrapper, about_image and about_description styles
+        Resources resources = context.getResources();
+        mHeaderPadding = resources.getDimensionPixelSize(R.dimen.about_header_padding);
+        mHeaderTop = mHeaderPadding + resources.getDimensionPixelSize(R.dimen.about_image_margin_top);
+        mHeaderBottom = resources.getDimensionPixelSize(R.dimen.about_description_margin_bottom) + mHeaderPadding;
+        mImageMarginBottom = resources.getDimensionPixelSize(R.dimen.about_image_margin_bottom);
+
+        setBackgroundColor(mStyle.background);
+        setFocusable(true);
+        mScroller = new OverScroller(context);
+        // the page may be created on a worker thread without a Looper, see AsyncAboutPage
+        mGestureDetector = new GestureDetector(context, new GestureListener(), AboutPageExecutors.mainHandler());
+        mAccessibilityHelper = new AccessibilityHelper(this);
+        ViewCompat.setAccessibilityDelegate(this, mAccessibilityHelper);
+    }
+
+    private TextPaint createPaint(Context context, int textAppearance) {
+        TextPaint paint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+        TextAppearanceSpan span = new TextAppearanceSpan(context, textAppearance);
+        span.updateMeasureState(paint);
+        span.updateDrawState(paint);
+        if (mRowFactory.getCustomFont() != null) {
+            paint.setTypeface(mRowFactory.getCustomFont());
+        }
+        return paint;
+    }
+
+    void setContent(@Nullable final HeaderImage image, CharSequence description, @NonNull List<Row> rows) {
+        mDescription = !TextUtils.isEmpty(description) ? description : getContext().getString(R.string.about_page_description);
+        mAllRows.clear();
+        for (Row row : rows) {
+            mAllRows.add(new RowLayout(row));
+        }
+        mMatches = null;
+        contentChanged();
+
+        if (image == null ? mImageSource == null : image.equals(mImageSource)) {
+            return;
+        }
+        mImageSource = image;
+        mImage = null;
+        if (image != null) {
+            HeaderImageLoader.load(getContext(), image, new HeaderImageLoader.Callback() {
+                @Override
+                public void onLoaded(@Nullable Drawable drawable) {
+                    if (image.equals(mImageSource)) {
+                        mImage = drawable;
+                        mLaidOutWidth = -1;
+                        requestLayout();
+                        invalidate();
+                    }
+                }
+            });
+        }
+    }
+
+    void addRows(@NonNull Row... rows) {
+        addRows(Arrays.asList(rows));
+    }
+
+    void addRows(@NonNull List<Row> rows) {
+        for (Row row : rows) {
+            mAllRows.add(new RowLayout(row));
+        }
+        contentChanged();
+    }
+
+    /**
+     * Only display the rows of the given elements. The text of the rows is not laid out again,
+     * only the position of the displayed rows is computed.
+     *
+     * @param matches the elements to display, or null to display all the rows
+     */
+    void setFilter(@Nullable ElementIndex.Matches matches) {
+        mMatches = matches;
+        filterRows();
+        if (mLaidOutWidth >= 0) {
+            positionRows();
+            scrollTo(0, getScrollY());
+        }
+        mPressedRow = -1;
+        requestLayout();
+        invalidate();
+        mAccessibilityHelper.invalidateRoot();
+    }
+
+    private void filterRows() {
+        List<Row> rows = new ArrayList<>(mAllRows.size());
+        for (RowLayout layout : mAllRows) {
+            rows.add(layout.row);
+        }
+        BitSet visible = Row.visibleRows(rows, mMatches);
+        mRows.clear();
+        for (int i = 0; i < mAllRows.size(); i++) {
+            if (visible == null || visible.get(i)) {
+                mRows.add(mAllRows.get(i));
+            }
+        }
+    }
+
+    private void contentChanged() {
+        filterRows();
+        mLaidOutWidth = -1;
+        mPressedRow = -1;
+        requestLayout();
+        invalidate();
+        mAccessibilityHelper.invalidateRoot();
+    }
+
+    @Override
+    protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        int width = MeasureSpec.getSize(widthMeasureSpec);
+        layoutContent(width);
+        int height = MeasureSpec.getMode(heightMeasureSpec) == MeasureSpec.UNSPECIFIED
+                ? mContentHeight
+                : resolveSize(mContentHeight, heightMeasureSpec);
+        setMeasuredDimension(width, height);
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        scrollTo(0, getScrollY());
+    }
+
+    @Override
+    public void scrollTo(int x, int y) {
+        super.scrollTo(0, Math.max(0, Math.min(y, getMaxScrollY())));
+    }
+
+    private int getMaxScrollY() {
+        return Math.max(0, mContentHeight - getHeight());
+    }
+
+    /**
+     * Lay out the text of all rows and compute the position of the displayed ones for the given
+     * width
+     */
+    @SuppressWarnings("deprecation")
+    private void layoutContent(int width) {
+        if (width == mLaidOutWidth) {
+            return;
+        }
+        mLaidOutWidth = width;
+
+        int top = mHeaderTop;
+        if (mImage != null) {
+            top += mImage.getIntrinsicHeight();
+        }
+        top += mImageMarginBottom;
+        mDescriptionLayout = new StaticLayout(mDescription, mDescriptionPaint, Math.max(0, width - 2 * mHeaderPadding),
+                Layout.Alignment.ALIGN_CENTER, 1f, mDescriptionSpacing, true);
+        top += mDescriptionLayout.getHeight() + mHeaderBottom;
+        mHeaderHeight = top;
+
+        boolean rtl = mRowFactory.isRTL();
+        for (RowLayout layout : mAllRows) {
+            if (layout.row.type == Row.TYPE_GROUP) {
+                int padding = mStyle.groupTextPadding;
+                layout.text = new StaticLayout(layout.row.group, mGroupPaint, Math.max(0, width - 2 * padding),
+                        rtl ? Layout.Alignment.ALIGN_OPPOSITE : Layout.Alignment.ALIGN_NORMAL, 1f, 0f, true);
+                layout.textLeft = padding;
+                layout.textTop = padding;
+                layout.height = layout.text.getHeight() + 2 * padding;
+            } else {
+                // same spacing as the regular and compact rows
+                Row row = layout.row;
+                int padding = mStyle.textPadding;
+                int start = padding;
+                int end = padding;
+                int vertical = padding;
+                if (row.icon() != Element.NO_RESOURCE) {
+                    if (rtl) {
+                        end += mStyle.iconSize;
+                    } else {
+                        start += mStyle.iconSize;
+                    }
+                } else {
+                    start += mStyle.iconPadding;
+                    end += mStyle.iconPadding;
+                    vertical += mStyle.iconPadding;
+                }
+                CharSequence title = row.title() != null ? row.title() : "";
+                layout.text = new StaticLayout(title, mElementPaint, Math.max(0, width - start - end),
+                        alignment(row.gravity()), 1f, 0f, true);
+                layout.textLeft = start;
+                int contentHeight = layout.text.getHeight();
+                if (row.icon() != Element.NO_RESOURCE) {
+                    contentHeight = Math.max(contentHeight, mStyle.iconSize);
+                }
+                layout.textTop = vertical + (contentHeight - layout.text.getHeight()) / 2;
+                layout.height = contentHeight + 2 * vertical + mStyle.separatorHeight;
+            }
+        }
+        positionRows();
+    }
+
+    private void positionRows() {
+        int top = mHeaderHeight + mStyle.separatorHeight;
+        for (RowLayout layout : mRows) {
+            layout.top = top;
+            top += layout.height;
+        }
+        mContentHeight = top;
+    }
+
+    private Layout.Alignment alignment(int rowGravity) {
+        int gravity;
+        if (rowGravity != Element.NO_GRAVITY) {
+            gravity = rowGravity & Gravity.HORIZONTAL_GRAVITY_MASK;
+        } else {
+            gravity = mRowFactory.isRTL() ? Gravity.RIGHT : Gravity.LEFT;
+        }
+        if (gravity == Gravity.CENTER_HORIZONTAL) {
+            return Layout.Alignment.ALIGN_CENTER;
+        }
+        return gravity == Gravity.RIGHT ? Layout.Alignment.ALIGN_OPPOSITE : Layout.Alignment.ALIGN_NORMAL;
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (mRowFactory.isReleased()) {
+            // the page is released with its context, the icons can't be loaded anymore
+            return;
+        }
+        layoutContent(getWidth());
+
+        // the canvas is translated by the scroll offset, only draw what is visible
+        int visibleTop = getScrollY();
+        int visibleBottom = visibleTop + getHeight();
+
+        if (visibleTop < mHeaderHeight + mStyle.separatorHeight) {
+            drawHeader(canvas);
+        }
+
+        if (mRowBackground != null && mPressedRow >= 0) {
+            mRowBackground.draw(canvas);
+        }
+
+        for (int i = firstRowBelow(visibleTop); i < mRows.size(); i++) {
+            RowLayout layout = mRows.get(i);
+            if (layout.top >= visibleBottom) {
+                break;
+            }
+            drawRow(canvas, layout);
+        }
+    }
+
+    private void drawHeader(Canvas canvas) {
+        int top = mHeaderTop;
+        if (mImage != null) {
+            int left = (getWidth() - mImage.getIntrinsicWidth()) / 2;
+            mImage.setBounds(left, top, left + mImage.getIntrinsicWidth(), top + mImage.getIntrinsicHeight());
+            mImage.draw(canvas);
+            top += mImage.getIntrinsicHeight();
+        }
+        top += mImageMarginBottom;
+
+        canvas.save();
+        canvas.translate(mHeaderPadding, top);
+        mDescriptionLayout.draw(canvas);
+        canvas.restore();
+
+        canvas.drawRect(0, mHeaderHeight, getWidth(), mHeaderHeight + mStyle.separatorHeight, mSeparatorPaint);
+    }
+
+    private void drawRow(Canvas canvas, RowLayout layout) {
+        canvas.save();
+        canvas.translate(layout.textLeft, layout.top + layout.textTop);
+        layout.text.draw(canvas);
+        canvas.restore();
+
+        if (layout.row.type != Row.TYPE_ITEM) {
+            return;
+        }
+
+        if (layout.row.icon() != Element.NO_RESOURCE) {
+            if (layout.icon == null) {
+                layout.icon = mRowFactory.loadIcon(layout.row.toElement());
+            }
+            if (layout.icon != null) {
+                drawIcon(canvas, layout);
+            }
+        }
+
+        int bottom = layout.top + layout.height;
+        canvas.drawRect(0, bottom - mStyle.separatorHeight, getWidth(), bottom, mSeparatorPaint);
+    }
+
+    private void drawIcon(Canvas canvas, RowLayout layout) {
+        // next to the text, the same way the icon and the title of a regular row are grouped
+        float textLeft = Float.MAX_VALUE;
+        float textRight = 0;
+        for (int i = 0; i < layout.text.getLineCount(); i++) {
+            textLeft = Math.min(textLeft, layout.text.getLineLeft(i));
+            textRight = Math.max(textRight, layout.text.getLineRight(i));
+        }
+        if (layout.text.getLineCount() == 0) {
+            textLeft = 0;
+        }
+
+        int size = mStyle.iconSize - 2 * mStyle.iconPadding;
+        float left = mRowFactory.isRTL()
+                ? layout.textLeft + textRight + mStyle.iconPadding
+                : layout.textLeft + textLeft - mStyle.iconSize + mStyle.iconPadding;
+        int contentHeight = layout.height - mStyle.separatorHeight;
+        int top = layout.top + (contentHeight - size) / 2;
+
+        layout.icon.setBounds(0, 0, size, size);
+        canvas.save();
+        canvas.translate(left, top);
+        layout.icon.draw(canvas);
+        canvas.restore();
+    }
+
+    /**
+     * @return the index of the first row whose bottom is below the given position
+     */
+    private int firstRowBelow(int y) {
+        int low = 0;
+        int high = mRows.size() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            RowLayout layout = mRows.get(middle);
+            if (layout.top + layout.height <= y) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return the index of the row at the given position of the view, or -1
+     */
+    private int rowAt(float x, float y) {
+        if (x < 0 || x >= getWidth() || y < 0 || y >= getHeight()) {
+            return -1;
+        }
+        int index = firstRowBelow((int) y + getScrollY());
+        if (index >= mRows.size() || mRows.get(index).top > y + getScrollY()) {
+            return -1;
+        }
+        return index;
+    }
+
+    private boolean isItem(int index) {
+        return index >= 0 && mRows.get(index).row.type == Row.TYPE_ITEM;
+    }
+
+    private void setPressedRow(int index, float x, float y) {
+        if (mRowBackground == null || index == mPressedRow) {
+            return;
+        }
+        mPressedRow = index;
+        if (index >= 0) {
+            RowLayout layout = mRows.get(index);
+            mRowBackground.setBounds(0, layout.top, getWidth(), layout.top + layout.height - mStyle.separatorHeight);
+            DrawableCompat.setHotspot(mRowBackground, x, y + getScrollY());
+            mRowBackground.setState(new int[]{android.R.attr.state_pressed, android.R.attr.state_enabled});
+        } else {
+            mRowBackground.setState(new int[]{android.R.attr.state_enabled});
+        }
+        invalidate();
+    }
+
+    private void clickRow(int index) {
+        playSoundEffect(SoundEffectConstants.CLICK);
+        mRowFactory.performClick(this, mRows.get(index).row.toElement());
+        mAccessibilityHelper.sendEventForVirtualView(index, AccessibilityEvent.TYPE_VIEW_CLICKED);
+    }
+
+    @SuppressLint("ClickableViewAccessibility")
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        boolean handled = mGestureDetector.onTouchEvent(event);
+        int action = event.getActionMasked();
+        if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+            setPressedRow(-1, 0, 0);
+        }
+        return handled || super.onTouchEvent(event);
+    }
+
+    @Override
+    public void computeScroll() {
+        if (mScroller.computeScrollOffset()) {
+            scrollTo(0, mScroller.getCurrY());
+            ViewCompat.postInvalidateOnAnimation(this);
+        }
+    }
+
+    @Override
+    protected int computeVerticalScrollRange() {
+        return mContentHeight;
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == mRowBackground || super.verifyDrawable(who);
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return mAccessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return mAccessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        mAccessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        int page = getHeight() - getPaddingTop() - getPaddingBottom();
+        if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD && getScrollY() < getMaxScrollY()) {
+            smoothScrollBy(page);
+            return true;
+        }
+        if (action == AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD && getScrollY() > 0) {
+            smoothScrollBy(-page);
+            return true;
+        }
+        return super.performAccessibilityAction(action, arguments);
+    }
+
+    private void smoothScrollBy(int dy) {
+        mScroller.forceFinished(true);
+        int target = Math.max(0, Math.min(getScrollY() + dy, getMaxScrollY()));
+        mScroller.startScroll(0, getScrollY(), 0, target - getScrollY());
+        ViewCompat.postInvalidateOnAnimation(this);
+    }
+
+    private final class GestureListener extends GestureDetector.SimpleOnGestureListener {
+        @Override
+        public boolean onDown(MotionEvent e) {
+            mScroller.forceFinished(true);
+            return true;
+        }
+
+        @Override
+        public void onShowPress(MotionEvent e) {
+            int index = rowAt(e.getX(), e.getY());
+            if (isItem(index)) {
+                setPressedRow(index, e.getX(), e.getY());
+            }
+        }
+
+        @Override
+        public boolean onSingleTapUp(MotionEvent e) {
+            int index = rowAt(e.getX(), e.getY());
+            if (!isItem(index)) {
+                return false;
+            }
+            setPressedRow(index, e.getX(), e.getY());
+            clickRow(index);
+            return true;
+        }
+
+        @Override
+        public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+            setPressedRow(-1, 0, 0);
+            if (getMaxScrollY() > 0 && getParent() != null) {
+                getParent().requestDisallowInterceptTouchEvent(true);
+            }
+            scrollTo(0, getScrollY() + Math.round(distanceY));
+            return true;
+        }
+
+        @Override
+        public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+            mScroller.fling(0, getScrollY(), 0, Math.round(-velocityY), 0, 0, 0, getMaxScrollY());
+            ViewCompat.postInvalidateOnAnimation(CanvasPageView.this);
+            return true;
+        }
+    }
+
+    /**
+     * Exposes the header and each row as a virtual view
+     */
+    private final class AccessibilityHelper extends ExploreByTouchHelper {
+        private final Rect mBounds = new Rect();
+
+        AccessibilityHelper(View host) {
+            super(host);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            int index = rowAt(x, y);
+            if (index >= 0) {
+                return index;
+            }
+            return y + getScrollY() < mHeaderHeight ? HEADER_ID : INVALID_ID;
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            int visibleTop = getScrollY();
+            if (visibleTop < mHeaderHeight) {
+                virtualViewIds.add(HEADER_ID);
+            }
+            for (int i = firstRowBelow(visibleTop); i < mRows.size(); i++) {
+                if (mRows.get(i).top >= visibleTop + getHeight()) {
+                    break;
+                }
+                virtualViewIds.add(i);
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (virtualViewId == HEADER_ID || virtualViewId >= mRows.size()) {
+                node.setText(mDescription);
+                mBounds.set(0, 0, getWidth(), mHeaderHeight);
+            } else {
+                RowLayout layout = mRows.get(virtualViewId);
+                if (layout.row.type == Row.TYPE_GROUP) {
+                    node.setText(layout.row.group);
+                    node.setHeading(true);
+                } else {
+                    node.setText(layout.row.title());
+                    node.setClickable(true);
+                    node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+                }
+                mBounds.set(0, layout.top, getWidth(), layout.top + layout.height);
+            }
+            mBounds.offset(0, -getScrollY());
+            node.setBoundsInParent(mBounds);
+        }
+
+        @Override
+        protected void onPopulateNodeForHost(@NonNull AccessibilityNodeInfoCompat node) {
+            if (getMaxScrollY() > 0) {
+                node.setScrollable(true);
+                if (getScrollY() > 0) {
+                    node.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_BACKWARD);
+                }
+                if (getScrollY() < getMaxScrollY()) {
+                    node.addAction(AccessibilityNodeInfoCompat.ACTION_SCROLL_FORWARD);
+                }
+            }
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action == AccessibilityNodeInfoCompat.ACTION_CLICK && virtualViewId < mRows.size() && isItem(virtualViewId)) {
+                clickRow(virtualViewId);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package mehdi.sakout.aboutpage;
+
+import android.annotation.SuppressLint;
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.drawable.Drawable;
+import android.text.Layout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.view.ViewCompat;
+
+/**
+ * A single view displaying an element row: the icon, the title and the separator below them.
+ * <p>
+ * The icon is drawn right next to the title, the same way the icon and the title of a regular row
+ * are grouped in a horizontal LinearLayout, so the gravity of the element keeps applying to both.
+ */
+@SuppressLint("ViewConstructor")
+final class CompactRowView extends TextView {
+
+    private final AboutPageStyle mStyle;
+    private final boolean mIconAtEnd;
+    private final Paint mSeparatorPaint = new Paint();
+    private Drawable mIcon;
+
+    /**
+     * @param iconAtEnd display the icon after the title instead of before it
+     */
+    CompactRowView(Context context, @NonNull AboutPageStyle style, boolean iconAtEnd) {
+        super(context);
+        this.mStyle = style;
+        this.mIconAtEnd = iconAtEnd;
+        mSeparatorPaint.setColor(style.separatorColor);
+    }
+
+    void setIcon(@Nullable Drawable icon) {
+        if (mIcon != null) {
+            mIcon.setCallback(null);
+        }
+        mIcon = icon;
+        if (icon != null) {
+            int size = mStyle.iconSize - 2 * mStyle.iconPadding;
+            icon.setBounds(0, 0, size, size);
+            icon.setCallback(this);
+        }
+        updatePadding();
+        invalidate();
+    }
+
+    private void updatePadding() {
+        // same spacing as the LinearLayout wrapper and its children of a regular row
+        int padding = mStyle.textPadding;
+        int start = padding;
+        int end = padding;
+        int vertical = padding;
+        if (mIcon != null) {
+            if (mIconAtEnd) {
+                end += mStyle.iconSize;
+            } else {
+                start += mStyle.iconSize;
+            }
+            setMinHeight(mStyle.iconSize + 2 * padding + mStyle.separatorHeight);
+        } else {
+            start += mStyle.iconPadding;
+            end += mStyle.iconPadding;
+            vertical += mStyle.iconPadding;
+            setMinHeight(0);
+        }
+        // the separator is drawn in the bottom padding
+        ViewCompat.setPaddingRelative(this, start, vertical, end, vertical + mStyle.separatorHeight);
+    }
+
+    @Override
+    protected boolean verifyDrawable(@NonNull Drawable who) {
+        return who == mIcon || super.verifyDrawable(who);
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+
+        if (mIcon != null) {
+            drawIcon(canvas);
+        }
+
+        canvas.drawRect(0, getHeight() - mStyle.separatorHeight, getWidth(), getHeight(), mSeparatorPaint);
+    }
+
+    private void drawIcon(Canvas canvas) {
+        Layout layout = getLayout();
+        if (layout == null) {
+            return;
+        }
+
+        float textLeft = Float.MAX_VALUE;
+        float textRight = 0;
+        for (int i = 0; i < layout.getLineCount(); i++) {
+            textLeft = Math.min(textLeft, layout.getLineLeft(i));
+            textRight = Math.max(textRight, layout.getLineRight(i));
+        }
+        if (layout.getLineCount() == 0) {
+            textLeft = 0;
+        }
+
+        boolean isLayoutRtl = ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL;
+        boolean iconOnRight = mIconAtEnd != isLayoutRtl;
+        float boxLeft = iconOnRight
+                ? getCompoundPaddingLeft() + textRight
+                : getCompoundPaddingLeft() + textLeft - mStyle.iconSize;
+
+        int save = canvas.save();
+        canvas.translate(getScrollX() + boxLeft + mStyle.iconPadding,
+                getScrollY() + (getHeight() - mStyle.separatorHeight - mIcon.getBounds().height()) / 2f);
+        mIcon.draw(canvas);
+        canvas.restoreToCount(save);
+    }
+}
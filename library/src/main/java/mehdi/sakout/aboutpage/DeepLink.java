@@ -0,0 +1,178 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An {@link Element.IntentProvider} opening a link in the first installed app able to handle it,
+ * or in a browser otherwise.
+ * <p>
+ * Apps are tried in the order they were added, when the element is clicked. For e.g:
+ * <pre>
+ * new DeepLink("http://twitter.com/intent/user?screen_name=medyo80")
+ *         .addApp("com.twitter.android", "twitter://user?screen_name=medyo80");
+ * </pre>
+ */
+public final class DeepLink implements Element.IntentProvider, Parcelable {
+
+    private final String webUrl;
+    private final List<App> apps = new ArrayList<>();
+    private boolean browsable = false;
+
+    private static final class App {
+        final String packageName;
+        final int minVersionCode;
+        final String uri;
+
+        App(String packageName, int minVersionCode, String uri) {
+            this.packageName = packageName;
+            this.minVersionCode = minVersionCode;
+            this.uri = uri;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof App)) {
+                return false;
+            }
+            App app = (App) o;
+            return minVersionCode == app.minVersionCode && packageName.equals(app.packageName) && uri.equals(app.uri);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * packageName.hashCode() + minVersionCode) + uri.hashCode();
+        }
+    }
+
+    /**
+     * @param webUrl the URL opened in a browser when none of the apps is installed
+     */
+    public DeepLink(@NonNull String webUrl) {
+        this.webUrl = webUrl;
+    }
+
+    /**
+     * Convenience method for {@link DeepLink#addApp(String, int, String)} accepting any version
+     * of the app
+     *
+     * @param packageName the package of the app
+     * @param uri         the URI to open in the app
+     * @return this DeepLink instance for builder pattern support
+     */
+    public DeepLink addApp(@NonNull String packageName, @NonNull String uri) {
+        return addApp(packageName, 0, uri);
+    }
+
+    /**
+     * Open the given URI in an app, when it is installed with at least the given version code.
+     *
+     * @param packageName    the package of the app
+     * @param minVersionCode the lowest version code of the app supporting the URI
+     * @param uri            the URI to open in the app
+     * @return this DeepLink instance for builder pattern support
+     */
+    public DeepLink addApp(@NonNull String packageName, int minVersionCode, @NonNull String uri) {
+        apps.add(new App(packageName, minVersionCode, uri));
+        return this;
+    }
+
+    /**
+     * Add {@link Intent#CATEGORY_BROWSABLE} to the intents, as a link clicked in a browser would
+     *
+     * @param browsable true to add the category
+     * @return this DeepLink instance for builder pattern support
+     */
+    public DeepLink setBrowsable(boolean browsable) {
+        this.browsable = browsable;
+        return this;
+    }
+
+    @NonNull
+    public String getWebUrl() {
+        return webUrl;
+    }
+
+    @NonNull
+    @Override
+    public Intent getIntent(@NonNull Context context) {
+        Intent intent = new Intent(Intent.ACTION_VIEW);
+        if (browsable) {
+            intent.addCategory(Intent.CATEGORY_BROWSABLE);
+        }
+
+        for (App app : apps) {
+            int versionCode = InstalledApps.getVersionCode(context, app.packageName);
+            if (versionCode != InstalledApps.NOT_INSTALLED && versionCode >= app.minVersionCode) {
+                intent.setPackage(app.packageName);
+                intent.setData(Uri.parse(app.uri));
+                return intent;
+            }
+        }
+
+        intent.setData(Uri.parse(webUrl));
+        return intent;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DeepLink)) {
+            return false;
+        }
+        DeepLink deepLink = (DeepLink) o;
+        return browsable == deepLink.browsable && webUrl.equals(deepLink.webUrl) && apps.equals(deepLink.apps);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * webUrl.hashCode() + apps.hashCode()) + (browsable ? 1 : 0);
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeString(webUrl);
+        dest.writeInt(browsable ? 1 : 0);
+        dest.writeInt(apps.size());
+        for (App app : apps) {
+            dest.writeString(app.packageName);
+            dest.writeInt(app.minVersionCode);
+            dest.writeString(app.uri);
+        }
+    }
+
+    public static final Creator<DeepLink> CREATOR = new Creator<DeepLink>() {
+        @Override
+        public DeepLink createFromParcel(Parcel source) {
+            DeepLink deepLink = new DeepLink(source.readString()).setBrowsable(source.readInt() != 0);
+            int count = source.readInt();
+            for (int i = 0; i < count; i++) {
+                deepLink.addApp(source.readString(), source.readInt(), source.readString());
+            }
+            return deepLink;
+        }
+
+        @Override
+        public DeepLink[] newArray(int size) {
+            return new DeepLink[size];
+        }
+    };
+}
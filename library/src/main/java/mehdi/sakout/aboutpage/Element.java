@@ -1,5 +1,6 @@
 package mehdi.sakout.aboutpage;
 
+import android.content.Context;
 import android.content.Intent;
 import androidx.annotation.ColorRes;
 import androidx.annotation.DrawableRes;
@@ -14,25 +15,91 @@ import android.view.View;
  */
 public class Element {
 
+    /**
+     * Supplies the intent of an Element when it is clicked, so building it, for e.g looking up
+     * installed apps, is deferred until it is needed.
+     *
+     * @see Element#setIntentProvider(IntentProvider)
+     * @see DeepLink
+     */
+    public interface IntentProvider {
+        /**
+         * @return the intent to start, or null to ignore the click
+         */
+        @Nullable
+        Intent getIntent(Context context);
+    }
+
+    // the value of the unset resources, 0 is never a valid resource id
+    static final int NO_RESOURCE = 0;
+    static final int NO_GRAVITY = Integer.MIN_VALUE;
+    static final int FLAG_AUTO_ICON_TINT = 1;
+    static final int FLAG_SKIP_TINT = 1 << 1;
+
+    private String id;
     private String title;
-    private Integer iconDrawable;
-    private Integer colorDay;
-    private Integer colorNight;
+    @DrawableRes
+    private int iconDrawable = NO_RESOURCE;
+    @ColorRes
+    private int colorDay = NO_RESOURCE;
+    @ColorRes
+    private int colorNight = NO_RESOURCE;
     private String value;
     private Intent intent;
-    private Integer gravity;
-    private Boolean autoIconColor = false;
-    private Boolean skipTint = false;
+    private IntentProvider intentProvider;
+    private int gravity = NO_GRAVITY;
+    private int flags = 0;
 
     private View.OnClickListener onClickListener;
+    // counts the changes, so the rows of an element changed in place are rebound
+    private int version = 0;
 
-    public Element() {
+    // the list storing the content of this Element, or null when it is stored in its fields
+    private final ElementList list;
+    private final int index;
 
+    public Element() {
+        this.list = null;
+        this.index = -1;
     }
 
     public Element(String title, Integer iconDrawable) {
+        this();
         this.title = title;
-        this.iconDrawable = iconDrawable;
+        this.iconDrawable = iconDrawable != null ? iconDrawable : NO_RESOURCE;
+    }
+
+    Element(ElementList list, int index) {
+        this.list = list;
+        this.index = index;
+    }
+
+    /**
+     * @return the stable identifier of this Element
+     * @see Element#setId(String)
+     */
+    @Nullable
+    public String getId() {
+        return list != null ? list.getId(index) : id;
+    }
+
+    /**
+     * Set a stable identifier for this Element. When the page is updated with
+     * {@link AboutPage#update(AboutPageModel)}, elements sharing the same identifier keep their views
+     * and only the changed content is rebound. Elements without identifier are matched by instance,
+     * the elements returned for the same entry of an {@link ElementList} being the same element.
+     *
+     * @param id an identifier unique within the page
+     * @return this Element instance for builder pattern support
+     */
+    public Element setId(String id) {
+        if (list != null) {
+            list.setId(index, id);
+        } else {
+            this.id = id;
+            version++;
+        }
+        return this;
     }
 
     /**
@@ -42,7 +109,7 @@ public class Element {
      * @see android.view.View.OnClickListener
      */
     public View.OnClickListener getOnClickListener() {
-        return onClickListener;
+        return list != null ? list.getOnClickListener(index) : onClickListener;
     }
 
     /**
@@ -55,7 +122,12 @@ public class Element {
      * @see android.view.View.OnClickListener
      */
     public Element setOnClickListener(View.OnClickListener onClickListener) {
-        this.onClickListener = onClickListener;
+        if (list != null) {
+            list.setOnClickListener(index, onClickListener);
+        } else {
+            this.onClickListener = onClickListener;
+            version++;
+        }
         return this;
     }
 
@@ -65,7 +137,15 @@ public class Element {
      * @return See {@link android.view.Gravity}
      */
     public Integer getGravity() {
-        return gravity;
+        int gravity = gravity();
+        return gravity != NO_GRAVITY ? gravity : null;
+    }
+
+    /**
+     * @return the gravity of the content of this Element, or {@link #NO_GRAVITY}
+     */
+    int gravity() {
+        return list != null ? list.getGravity(index) : gravity;
     }
 
     /**
@@ -75,7 +155,13 @@ public class Element {
      * @return this Element instance for builder pattern support
      */
     public Element setGravity(Integer gravity) {
-        this.gravity = gravity;
+        int value = gravity != null ? gravity : NO_GRAVITY;
+        if (list != null) {
+            list.setGravity(index, value);
+        } else {
+            this.gravity = value;
+            version++;
+        }
         return this;
     }
 
@@ -84,7 +170,7 @@ public class Element {
      */
     @Nullable
     public String getTitle() {
-        return title;
+        return list != null ? list.getTitle(index) : title;
     }
 
     /**
@@ -94,7 +180,12 @@ public class Element {
      * @return this Element instance for builder pattern support
      */
     public Element setTitle(String title) {
-        this.title = title;
+        if (list != null) {
+            list.setTitle(index, title);
+        } else {
+            this.title = title;
+            version++;
+        }
         return this;
     }
 
@@ -107,7 +198,16 @@ public class Element {
     @DrawableRes
     @Nullable
     public Integer getIconDrawable() {
-        return iconDrawable;
+        int icon = icon();
+        return icon != NO_RESOURCE ? icon : null;
+    }
+
+    /**
+     * @return the icon drawable resource of this Element, or {@link #NO_RESOURCE}
+     */
+    @DrawableRes
+    int icon() {
+        return list != null ? list.getIcon(index) : iconDrawable;
     }
 
     /**
@@ -118,7 +218,13 @@ public class Element {
      * @return this Element instance for builder pattern support
      */
     public Element setIconDrawable(@DrawableRes Integer iconDrawable) {
-        this.iconDrawable = iconDrawable;
+        int value = iconDrawable != null ? iconDrawable : NO_RESOURCE;
+        if (list != null) {
+            list.setIcon(index, value);
+        } else {
+            this.iconDrawable = value;
+            version++;
+        }
         return this;
     }
 
@@ -128,7 +234,16 @@ public class Element {
     @ColorRes
     @Nullable
     public Integer getIconTint() {
-        return colorDay;
+        int color = iconTint();
+        return color != NO_RESOURCE ? color : null;
+    }
+
+    /**
+     * @return the color resource of the icon of this Element, or {@link #NO_RESOURCE}
+     */
+    @ColorRes
+    int iconTint() {
+        return list != null ? list.getIconTint(index) : colorDay;
     }
 
     /**
@@ -138,7 +253,13 @@ public class Element {
      * @return this Element instance for builder pattern support
      */
     public Element setIconTint(@ColorRes Integer color) {
-        this.colorDay = color;
+        int value = color != null ? color : NO_RESOURCE;
+        if (list != null) {
+            list.setIconTint(index, value);
+        } else {
+            this.colorDay = value;
+            version++;
+        }
         return this;
     }
 
@@ -150,7 +271,17 @@ public class Element {
      */
     @ColorRes
     public Integer getIconNightTint() {
-        return colorNight;
+        int color = iconNightTint();
+        return color != NO_RESOURCE ? color : null;
+    }
+
+    /**
+     * @return the color resource of the icon of this Element in night mode, or
+     * {@link #NO_RESOURCE}
+     */
+    @ColorRes
+    int iconNightTint() {
+        return list != null ? list.getIconNightTint(index) : colorNight;
     }
 
     /**
@@ -161,16 +292,27 @@ public class Element {
      * @return
      */
     public Element setIconNightTint(@ColorRes Integer colorNight) {
-        this.colorNight = colorNight;
+        int value = colorNight != null ? colorNight : NO_RESOURCE;
+        if (list != null) {
+            list.setIconNightTint(index, value);
+        } else {
+            this.colorNight = value;
+            version++;
+        }
         return this;
     }
 
     public String getValue() {
-        return value;
+        return list != null ? list.getValue(index) : value;
     }
 
     public Element setValue(String value) {
-        this.value = value;
+        if (list != null) {
+            list.setValue(index, value);
+        } else {
+            this.value = value;
+            version++;
+        }
         return this;
     }
 
@@ -181,7 +323,19 @@ public class Element {
      * @see Element#setIntent(android.content.Intent)
      */
     public Intent getIntent() {
-        return intent;
+        if (list == null) {
+            return intent;
+        }
+        // the links of a list are only turned into intents when asked for
+        Intent intent = list.getIntent(index);
+        return intent != null ? intent : list.createIntent(index);
+    }
+
+    /**
+     * @return true when this Element has an intent, without creating it
+     */
+    boolean hasIntent() {
+        return list != null ? list.hasIntent(index) : intent != null;
     }
 
     /**
@@ -196,7 +350,44 @@ public class Element {
      * @see android.content.Intent
      */
     public Element setIntent(Intent intent) {
-        this.intent = intent;
+        if (list != null) {
+            list.setIntent(index, intent);
+        } else {
+            this.intent = intent;
+            version++;
+        }
+        return this;
+    }
+
+    /**
+     * Get the intent provider to be used for when this Element is clicked
+     *
+     * @return
+     * @see Element#setIntentProvider(IntentProvider)
+     */
+    @Nullable
+    public IntentProvider getIntentProvider() {
+        return list != null ? list.getIntentProvider(index) : intentProvider;
+    }
+
+    /**
+     * Set the provider of the intent to pass to the
+     * {@link android.content.Context#startActivity(android.content.Intent)} method when this item
+     * is clicked. The provider is only called on click. This method has lower priority than
+     * {@link Element#setOnClickListener(android.view.View.OnClickListener)} and
+     * {@link Element#setIntent(android.content.Intent)} when they are used.
+     *
+     * @param intentProvider the provider to be used
+     * @return this Element instance for builder pattern support
+     * @see DeepLink
+     */
+    public Element setIntentProvider(IntentProvider intentProvider) {
+        if (list != null) {
+            list.setIntentProvider(index, intentProvider);
+        } else {
+            this.intentProvider = intentProvider;
+            version++;
+        }
         return this;
     }
 
@@ -204,7 +395,7 @@ public class Element {
      * @return the AutoIcon
      */
     public Boolean getAutoApplyIconTint() {
-        return autoIconColor;
+        return hasFlag(FLAG_AUTO_ICON_TINT);
     }
 
     /**
@@ -214,7 +405,7 @@ public class Element {
      * @return this Element instance for builder pattern support
      */
     public Element setAutoApplyIconTint(Boolean autoIconColor) {
-        this.autoIconColor = autoIconColor;
+        setFlag(FLAG_AUTO_ICON_TINT, autoIconColor != null && autoIconColor);
         return this;
     }
 
@@ -223,10 +414,86 @@ public class Element {
      * @param skipTint
      */
     public void setSkipTint(Boolean skipTint) {
-        this.skipTint = skipTint;
+        setFlag(FLAG_SKIP_TINT, skipTint != null && skipTint);
     }
 
     public Boolean getSkipTint() {
-        return skipTint;
+        return hasFlag(FLAG_SKIP_TINT);
+    }
+
+    boolean hasFlag(int flag) {
+        return (flags() & flag) != 0;
+    }
+
+    private int flags() {
+        return list != null ? list.getFlags(index) : flags;
+    }
+
+    private void setFlag(int flag, boolean value) {
+        int flags = value ? flags() | flag : flags() & ~flag;
+        if (list != null) {
+            list.setFlags(index, flags);
+        } else {
+            this.flags = flags;
+            version++;
+        }
+    }
+
+    /**
+     * @return true when both Elements would be displayed identically
+     */
+    boolean hasSameContent(Element other) {
+        return equals(getTitle(), other.getTitle())
+                && icon() == other.icon()
+                && iconTint() == other.iconTint()
+                && iconNightTint() == other.iconNightTint()
+                && equals(getValue(), other.getValue())
+                && gravity() == other.gravity()
+                && flags() == other.flags()
+                && getOnClickListener() == other.getOnClickListener()
+                && sameIntent(intent(), other.intent())
+                && equals(link(), other.link())
+                && equals(getIntentProvider(), other.getIntentProvider());
+    }
+
+    /**
+     * @return what matches this Element across updates when it has no id: the entry of the list
+     * storing it, or the element itself
+     */
+    Object entry() {
+        return list != null ? list.entry(index) : this;
+    }
+
+    /**
+     * @return the number of changes made to this Element
+     */
+    int version() {
+        return list != null ? list.getVersion(index) : version;
+    }
+
+    /**
+     * @return the intent set on this Element, without creating the intent of its link
+     */
+    private Intent intent() {
+        return list != null ? list.getIntent(index) : intent;
+    }
+
+    /**
+     * @return the link of the list storing this Element, compared without creating its intent
+     */
+    private String link() {
+        return list != null ? list.getLink(index) : null;
+    }
+
+    private static boolean sameIntent(Intent a, Intent b) {
+        if (a == b) {
+            return true;
+        }
+        // extras can't be compared, intents carrying some are considered different
+        return a != null && b != null && a.filterEquals(b) && a.getExtras() == null && b.getExtras() == null;
+    }
+
+    private static boolean equals(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
     }
 }
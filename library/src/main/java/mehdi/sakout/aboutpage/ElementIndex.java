@@ -0,0 +1,223 @@
+package mehdi.sakout.aboutpage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * A prefix index of the words of the titles and values of the elements of a page, to filter them
+ * as the user types.
+ * <p>
+ * The words are normalized once when the index is built: their accents are removed and they are
+ * lower cased with the locale of the page, so a word is found when typed without its accents or
+ * capitals. They are kept sorted along with the position of their element in the page, so the
+ * elements having a word starting with a prefix are found in a range of the index by binary
+ * search. When a word of a query extends the same word of the previous query, which is the case
+ * of every typed character, its range is only searched within the previous one.
+ * <p>
+ * An index is built on any thread but searched on the main thread.
+ */
+final class ElementIndex {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{Mn}+");
+
+    private final Locale mLocale;
+    private final int mElementCount;
+    private final String[] mWords;
+    private final int[] mElements;
+
+    // the words of the last query and their range in mWords
+    private String[] mQueryWords = new String[0];
+    private int[] mQueryStarts = new int[0];
+    private int[] mQueryEnds = new int[0];
+
+    /**
+     * The elements matching a query, by their position in the page. The elements added after the
+     * index was built match every query until the index is built again.
+     */
+    static final class Matches {
+        private final BitSet elements;
+        private final int elementCount;
+
+        Matches(BitSet elements, int elementCount) {
+            this.elements = elements;
+            this.elementCount = elementCount;
+        }
+
+        boolean contains(int position) {
+            return position >= elementCount || elements.get(position);
+        }
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final String word;
+        final int element;
+
+        Entry(String word, int element) {
+            this.word = word;
+            this.element = element;
+        }
+
+        @Override
+        public int compareTo(@NonNull Entry other) {
+            int result = word.compareTo(other.word);
+            return result != 0 ? result : element - other.element;
+        }
+    }
+
+    private ElementIndex(Locale locale, int elementCount, String[] words, int[] elements) {
+        this.mLocale = locale;
+        this.mElementCount = elementCount;
+        this.mWords = words;
+        this.mElements = elements;
+    }
+
+    /**
+     * Index the elements of the given model, in the order they are displayed
+     */
+    @NonNull
+    @WorkerThread
+    static ElementIndex build(@NonNull AboutPageModel model, @NonNull Locale locale) {
+        List<Entry> entries = new ArrayList<>(4 * model.getElementCount());
+        Set<String> words = new HashSet<>();
+        int position = 0;
+        for (AboutPageModel.Group group : model.getGroups()) {
+            // read from the lists, without creating their elements
+            GroupElements elements = group.elements();
+            for (int i = 0; i < elements.size(); i++) {
+                words.clear();
+                addWords(elements.getTitle(i), locale, words);
+                addWords(elements.getValue(i), locale, words);
+                for (String word : words) {
+                    entries.add(new Entry(word, position));
+                }
+                position++;
+            }
+        }
+
+        Entry[] sorted = entries.toArray(new Entry[entries.size()]);
+        Arrays.sort(sorted);
+        String[] sortedWords = new String[sorted.length];
+        int[] elements = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            sortedWords[i] = sorted[i].word;
+            elements[i] = sorted[i].element;
+        }
+        return new ElementIndex(locale, position, sortedWords, elements);
+    }
+
+    /**
+     * Find the elements having, for each word of the query, a word of their title or value
+     * starting with it.
+     *
+     * @return the matching elements, or null when the query has no words and all elements match
+     */
+    @Nullable
+    Matches search(@Nullable CharSequence query) {
+        List<String> words = new ArrayList<>();
+        if (query != null) {
+            addWords(query.toString(), mLocale, words);
+        }
+
+        int[] starts = new int[words.size()];
+        int[] ends = new int[words.size()];
+        BitSet result = null;
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            int from = 0;
+            int to = mWords.length;
+            if (i < mQueryWords.length && word.startsWith(mQueryWords[i])) {
+                from = mQueryStarts[i];
+                to = mQueryEnds[i];
+            }
+            starts[i] = lowerBound(word, from, to);
+            ends[i] = endOfPrefix(word, starts[i], to);
+
+            BitSet elements = new BitSet(mElementCount);
+            for (int j = starts[i]; j < ends[i]; j++) {
+                elements.set(mElements[j]);
+            }
+            if (result == null) {
+                result = elements;
+            } else {
+                result.and(elements);
+            }
+        }
+
+        mQueryWords = words.toArray(new String[words.size()]);
+        mQueryStarts = starts;
+        mQueryEnds = ends;
+        return result != null ? new Matches(result, mElementCount) : null;
+    }
+
+    /**
+     * @return the index of the first word of the range not before the given word
+     */
+    private int lowerBound(String word, int from, int to) {
+        int low = from;
+        int high = to - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (mWords[middle].compareTo(word) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param start the index of the first word not before the prefix
+     * @return the index of the first word of the range not starting with the prefix
+     */
+    private int endOfPrefix(String prefix, int start, int to) {
+        int low = start;
+        int high = to - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (mWords[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Add the normalized words of the given text, the words being separated by any character that
+     * is neither a letter nor a digit
+     */
+    private static void addWords(@Nullable String text, Locale locale, Collection<String> words) {
+        if (text == null) {
+            return;
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("").toLowerCase(locale);
+        int start = -1;
+        int i = 0;
+        while (i <= normalized.length()) {
+            int codePoint = i < normalized.length() ? normalized.codePointAt(i) : ' ';
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+            i += Character.charCount(codePoint);
+        }
+    }
+}
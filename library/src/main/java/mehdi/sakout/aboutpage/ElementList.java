@@ -0,0 +1,515 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Intent;
+import android.net.Uri;
+import android.util.SparseArray;
+import android.view.View;
+
+import androidx.annotation.ColorRes;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact list of elements for large generated pages, for e.g credits, contributors or
+ * licenses. Add it with {@link AboutPage#addItems(ElementList)} or
+ * {@link AboutPageModel.Builder#addElements(ElementList)}.
+ * <p>
+ * The content of the elements is stored in columns: a few int arrays for the resources, the
+ * gravity and the flags, and a table of strings where the strings repeated across the elements
+ * are stored once. The links are stored as their URL and only turned into an {@link Intent} when
+ * the element is clicked. A page only refers to the entries of the list: they are indexed,
+ * precomputed and saved without an object per entry, and an {@link Element} is only created for
+ * the entries whose row is rendered.
+ * <p>
+ * {@link #get(int)} returns an {@link Element} reading and writing the content of an entry in the
+ * list, it isn't kept by the list. The click listeners, intents and intent providers set on such
+ * an element are stored by the list in sparse tables, so only the entries that have one cost more
+ * than their columns.
+ */
+public final class ElementList {
+
+    private static final int NO_STRING = -1;
+
+    private final int size;
+    private final List<String> strings;
+    // the number of entries using each string, and the slots of the unused ones
+    private int[] uses;
+    private int[] freeSlots = new int[0];
+    private int freeCount = 0;
+    private final int[] ids;
+    private final int[] titles;
+    private final int[] values;
+    private final int[] links;
+    private final int[] icons;
+    private final int[] iconTints;
+    private final int[] iconNightTints;
+    private final int[] gravities;
+    private final int[] flags;
+    // what is set on a few entries through their element, by index
+    private SparseArray<View.OnClickListener> onClickListeners;
+    private SparseArray<Intent> intents;
+    private SparseArray<Element.IntentProvider> intentProviders;
+    // the number of changes of each entry since the list was built, null until one changes
+    private int[] versions;
+
+    private ElementList(Builder builder) {
+        this.size = builder.size;
+        this.strings = new ArrayList<>(builder.strings);
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.titles = Arrays.copyOf(builder.titles, size);
+        this.values = Arrays.copyOf(builder.values, size);
+        this.links = Arrays.copyOf(builder.links, size);
+        this.icons = Arrays.copyOf(builder.icons, size);
+        this.iconTints = Arrays.copyOf(builder.iconTints, size);
+        this.iconNightTints = Arrays.copyOf(builder.iconNightTints, size);
+        this.gravities = Arrays.copyOf(builder.gravities, size);
+        this.flags = Arrays.copyOf(builder.flags, size);
+        this.uses = new int[strings.size()];
+        for (int[] column : new int[][]{ids, titles, values, links}) {
+            for (int i = 0; i < size; i++) {
+                if (column[i] != NO_STRING) {
+                    uses[column[i]]++;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of elements of this list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return an element reading and writing the given entry in this list. Each call returns a new
+     * element, the elements of the same entry are matched by the page as the same element.
+     */
+    @NonNull
+    public Element get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return new Element(this, index);
+    }
+
+    /**
+     * @return what matches the given entry across updates, equal for all its elements
+     */
+    Object entry(int index) {
+        return new Entry(this, index);
+    }
+
+    String getId(int index) {
+        return string(ids[index]);
+    }
+
+    void setId(int index, String id) {
+        changed(index);
+        ids[index] = store(ids[index], id);
+    }
+
+    String getTitle(int index) {
+        return string(titles[index]);
+    }
+
+    void setTitle(int index, String title) {
+        changed(index);
+        titles[index] = store(titles[index], title);
+    }
+
+    String getValue(int index) {
+        return string(values[index]);
+    }
+
+    void setValue(int index, String value) {
+        changed(index);
+        values[index] = store(values[index], value);
+    }
+
+    String getLink(int index) {
+        return string(links[index]);
+    }
+
+    /**
+     * @return a new intent viewing the link of the given entry, or null when it has none
+     */
+    @Nullable
+    Intent createIntent(int index) {
+        String link = string(links[index]);
+        return link != null ? new Intent(Intent.ACTION_VIEW, Uri.parse(link)) : null;
+    }
+
+    /**
+     * @return the intent set on the given entry in place of its link
+     */
+    @Nullable
+    Intent getIntent(int index) {
+        return intents != null ? intents.get(index) : null;
+    }
+
+    /**
+     * @return true when the given entry has an intent or a link, without creating its intent
+     */
+    boolean hasIntent(int index) {
+        return links[index] != NO_STRING || intents != null && intents.get(index) != null;
+    }
+
+    /**
+     * Set the intent of the given entry in place of its link
+     */
+    void setIntent(int index, Intent intent) {
+        changed(index);
+        links[index] = store(links[index], null);
+        if (intent != null) {
+            if (intents == null) {
+                intents = new SparseArray<>();
+            }
+            intents.put(index, intent);
+        } else if (intents != null) {
+            intents.remove(index);
+        }
+    }
+
+    View.OnClickListener getOnClickListener(int index) {
+        return onClickListeners != null ? onClickListeners.get(index) : null;
+    }
+
+    void setOnClickListener(int index, View.OnClickListener listener) {
+        changed(index);
+        if (listener != null) {
+            if (onClickListeners == null) {
+                onClickListeners = new SparseArray<>();
+            }
+            onClickListeners.put(index, listener);
+        } else if (onClickListeners != null) {
+            onClickListeners.remove(index);
+        }
+    }
+
+    Element.IntentProvider getIntentProvider(int index) {
+        return intentProviders != null ? intentProviders.get(index) : null;
+    }
+
+    void setIntentProvider(int index, Element.IntentProvider provider) {
+        changed(index);
+        if (provider != null) {
+            if (intentProviders == null) {
+                intentProviders = new SparseArray<>();
+            }
+            intentProviders.put(index, provider);
+        } else if (intentProviders != null) {
+            intentProviders.remove(index);
+        }
+    }
+
+    int getIcon(int index) {
+        return icons[index];
+    }
+
+    void setIcon(int index, int icon) {
+        changed(index);
+        icons[index] = icon;
+    }
+
+    int getIconTint(int index) {
+        return iconTints[index];
+    }
+
+    void setIconTint(int index, int color) {
+        changed(index);
+        iconTints[index] = color;
+    }
+
+    int getIconNightTint(int index) {
+        return iconNightTints[index];
+    }
+
+    void setIconNightTint(int index, int color) {
+        changed(index);
+        iconNightTints[index] = color;
+    }
+
+    int getGravity(int index) {
+        return gravities[index];
+    }
+
+    void setGravity(int index, int gravity) {
+        changed(index);
+        gravities[index] = gravity;
+    }
+
+    int getFlags(int index) {
+        return flags[index];
+    }
+
+    void setFlags(int index, int value) {
+        changed(index);
+        flags[index] = value;
+    }
+
+    int getVersion(int index) {
+        return versions != null ? versions[index] : 0;
+    }
+
+    private void changed(int index) {
+        if (versions == null) {
+            versions = new int[size];
+        }
+        versions[index]++;
+    }
+
+    private String string(int index) {
+        return index != NO_STRING ? strings.get(index) : null;
+    }
+
+    /**
+     * Store a string changed after the list was built in place of the one it replaces. A string
+     * no entry uses anymore frees its slot of the table for the next one, so the table doesn't
+     * grow as the same entries are changed again.
+     *
+     * @param previous the slot of the replaced string
+     * @return the slot of the stored string
+     */
+    private int store(int previous, String value) {
+        if (previous != NO_STRING) {
+            if (strings.get(previous).equals(value)) {
+                return previous;
+            }
+            if (--uses[previous] == 0) {
+                strings.set(previous, null);
+                if (freeCount == freeSlots.length) {
+                    freeSlots = Arrays.copyOf(freeSlots, Math.max(4, 2 * freeCount));
+                }
+                freeSlots[freeCount++] = previous;
+            }
+        }
+        if (value == null) {
+            return NO_STRING;
+        }
+
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+            strings.set(slot, value);
+        } else {
+            slot = strings.size();
+            strings.add(value);
+            if (slot == uses.length) {
+                uses = Arrays.copyOf(uses, Math.max(4, 2 * slot));
+            }
+        }
+        uses[slot] = 1;
+        return slot;
+    }
+
+    /**
+     * An entry of a list, matching the elements returned for it by {@link #get(int)}
+     */
+    private static final class Entry {
+        private final ElementList list;
+        private final int index;
+
+        Entry(ElementList list, int index) {
+            this.list = list;
+            this.index = index;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry entry = (Entry) o;
+            return list == entry.list && index == entry.index;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(list) + index;
+        }
+    }
+
+    /**
+     * Builds an {@link ElementList}. Each element is added with {@link #add(String, int, String)}
+     * and the other setters apply to the last added element.
+     */
+    public static final class Builder {
+        private int size = 0;
+        private final List<String> strings = new ArrayList<>();
+        private final Map<String, Integer> stringIndexes = new HashMap<>();
+        private int[] ids;
+        private int[] titles;
+        private int[] values;
+        private int[] links;
+        private int[] icons;
+        private int[] iconTints;
+        private int[] iconNightTints;
+        private int[] gravities;
+        private int[] flags;
+
+        public Builder() {
+            this(16);
+        }
+
+        /**
+         * @param capacity the number of elements to allocate the columns for
+         */
+        public Builder(int capacity) {
+            capacity = Math.max(1, capacity);
+            ids = new int[capacity];
+            titles = new int[capacity];
+            values = new int[capacity];
+            links = new int[capacity];
+            icons = new int[capacity];
+            iconTints = new int[capacity];
+            iconNightTints = new int[capacity];
+            gravities = new int[capacity];
+            flags = new int[capacity];
+        }
+
+        /**
+         * Add an element without icon nor link
+         *
+         * @param title the title of the element
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder add(String title) {
+            return add(title, Element.NO_RESOURCE, null);
+        }
+
+        /**
+         * Add an element opening the given link when clicked
+         *
+         * @param title the title of the element
+         * @param icon  the icon of the element, or 0 for none
+         * @param link  the URL viewed when the element is clicked, or null
+         * @return this Builder instance for builder pattern support
+         */
+        public Builder add(String title, @DrawableRes int icon, @Nullable String link) {
+            if (size == titles.length) {
+                grow();
+            }
+            ids[size] = NO_STRING;
+            titles[size] = store(title);
+            values[size] = NO_STRING;
+            links[size] = store(link);
+            icons[size] = icon;
+            iconTints[size] = Element.NO_RESOURCE;
+            iconNightTints[size] = Element.NO_RESOURCE;
+            gravities[size] = Element.NO_GRAVITY;
+            flags[size] = 0;
+            size++;
+            return this;
+        }
+
+        /**
+         * @see Element#setId(String)
+         */
+        public Builder setId(String id) {
+            ids[last()] = store(id);
+            return this;
+        }
+
+        /**
+         * @see Element#setValue(String)
+         */
+        public Builder setValue(String value) {
+            values[last()] = store(value);
+            return this;
+        }
+
+        /**
+         * @see Element#setIconTint(Integer)
+         */
+        public Builder setIconTint(@ColorRes int color) {
+            iconTints[last()] = color;
+            return this;
+        }
+
+        /**
+         * @see Element#setIconNightTint(Integer)
+         */
+        public Builder setIconNightTint(@ColorRes int color) {
+            iconNightTints[last()] = color;
+            return this;
+        }
+
+        /**
+         * @see Element#setGravity(Integer)
+         */
+        public Builder setGravity(int gravity) {
+            gravities[last()] = gravity;
+            return this;
+        }
+
+        /**
+         * @see Element#setAutoApplyIconTint(Boolean)
+         */
+        public Builder setAutoApplyIconTint(boolean value) {
+            setFlag(Element.FLAG_AUTO_ICON_TINT, value);
+            return this;
+        }
+
+        /**
+         * @see Element#setSkipTint(Boolean)
+         */
+        public Builder setSkipTint(boolean value) {
+            setFlag(Element.FLAG_SKIP_TINT, value);
+            return this;
+        }
+
+        @NonNull
+        public ElementList build() {
+            return new ElementList(this);
+        }
+
+        private void setFlag(int flag, boolean value) {
+            int index = last();
+            flags[index] = value ? flags[index] | flag : flags[index] & ~flag;
+        }
+
+        private int last() {
+            if (size == 0) {
+                throw new IllegalStateException("add an element before setting its content");
+            }
+            return size - 1;
+        }
+
+        private int store(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer index = stringIndexes.get(value);
+            if (index == null) {
+                index = strings.size();
+                strings.add(value);
+                stringIndexes.put(value, index);
+            }
+            return index;
+        }
+
+        private void grow() {
+            int capacity = 2 * titles.length;
+            ids = Arrays.copyOf(ids, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            values = Arrays.copyOf(values, capacity);
+            links = Arrays.copyOf(links, capacity);
+            icons = Arrays.copyOf(icons, capacity);
+            iconTints = Arrays.copyOf(iconTints, capacity);
+            iconNightTints = Arrays.copyOf(iconNightTints, capacity);
+            gravities = Arrays.copyOf(gravities, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+    }
+}
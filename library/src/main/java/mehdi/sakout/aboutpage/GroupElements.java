@@ -0,0 +1,187 @@
+package mehdi.sakout.aboutpage;
+
+import androidx.annotation.NonNull;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The elements of a group of an {@link AboutPageModel}, in display order.
+ * <p>
+ * The entries of an {@link ElementList} stay in their list: the group only refers to a range of
+ * it, and a new {@link Element} is created for an entry each time it is read with
+ * {@link #get(int)}. The titles and values are read from the list without it.
+ */
+final class GroupElements extends AbstractList<Element> implements RandomAccess {
+
+    private static final GroupElements EMPTY = new GroupElements(Collections.<Run>emptyList());
+
+    /**
+     * Consecutive elements, either added one by one or being a range of an {@link ElementList}
+     */
+    private static final class Run {
+        final List<Element> elements;
+        final ElementList list;
+        final int from;
+        final int size;
+
+        Run(List<Element> elements) {
+            this.elements = elements;
+            this.list = null;
+            this.from = 0;
+            this.size = elements.size();
+        }
+
+        Run(ElementList list, int from, int size) {
+            this.elements = null;
+            this.list = list;
+            this.from = from;
+            this.size = size;
+        }
+    }
+
+    private final Run[] mRuns;
+    // the position of the first element of each run
+    private final int[] mStarts;
+    private final int mSize;
+
+    private GroupElements(List<Run> runs) {
+        mRuns = runs.toArray(new Run[runs.size()]);
+        mStarts = new int[mRuns.length];
+        int size = 0;
+        for (int i = 0; i < mRuns.length; i++) {
+            mStarts[i] = size;
+            size += mRuns[i].size;
+        }
+        mSize = size;
+    }
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @return the element at the given position, a new one for the entries of a list
+     */
+    @Override
+    public Element get(int position) {
+        int index = indexOf(position);
+        Run run = mRuns[index];
+        int offset = position - mStarts[index];
+        return run.list != null ? run.list.get(run.from + offset) : run.elements.get(offset);
+    }
+
+    String getTitle(int position) {
+        int index = indexOf(position);
+        Run run = mRuns[index];
+        int offset = position - mStarts[index];
+        return run.list != null ? run.list.getTitle(run.from + offset) : run.elements.get(offset).getTitle();
+    }
+
+    String getValue(int position) {
+        int index = indexOf(position);
+        Run run = mRuns[index];
+        int offset = position - mStarts[index];
+        return run.list != null ? run.list.getValue(run.from + offset) : run.elements.get(offset).getValue();
+    }
+
+    /**
+     * Add the rows displaying these elements to the given rows, the rows of the entries of a list
+     * reading them from the list without creating their element
+     *
+     * @param withSeparators false when the element rows draw their own separator
+     */
+    void addRows(List<Row> rows, boolean withSeparators) {
+        for (Run run : mRuns) {
+            for (int i = 0; i < run.size; i++) {
+                if (run.list != null) {
+                    rows.add(Row.item(run.list, run.from + i));
+                    if (withSeparators) {
+                        rows.add(Row.separator(run.list, run.from + i));
+                    }
+                } else {
+                    rows.add(Row.item(run.elements.get(i)));
+                    if (withSeparators) {
+                        rows.add(Row.separator(run.elements.get(i)));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the index of the run holding the given position
+     */
+    private int indexOf(int position) {
+        if (position < 0 || position >= mSize) {
+            throw new IndexOutOfBoundsException("position " + position + ", size " + mSize);
+        }
+        int low = 0;
+        int high = mRuns.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (mStarts[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Collects the elements of a group, the entries of the lists being kept as ranges
+     */
+    static final class Builder {
+        private final List<Run> runs = new ArrayList<>();
+        // the elements added one by one since the last range
+        private List<Element> elements;
+
+        void add(@NonNull Element element) {
+            if (elements == null) {
+                elements = new ArrayList<>();
+            }
+            elements.add(element);
+        }
+
+        void addAll(@NonNull ElementList list, int from, int size) {
+            if (size == 0) {
+                return;
+            }
+            if (elements != null) {
+                runs.add(new Run(elements));
+                elements = null;
+            }
+            runs.add(new Run(list, from, size));
+        }
+
+        void addAll(@NonNull GroupElements group) {
+            for (Run run : group.mRuns) {
+                if (run.list != null) {
+                    addAll(run.list, run.from, run.size);
+                } else {
+                    for (Element element : run.elements) {
+                        add(element);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the elements added so far, the builder can still be added to afterwards
+         */
+        @NonNull
+        GroupElements build() {
+            List<Run> snapshot = new ArrayList<>(runs.size() + 1);
+            snapshot.addAll(runs);
+            if (elements != null) {
+                snapshot.add(new Run(new ArrayList<>(elements)));
+            }
+            return snapshot.isEmpty() ? EMPTY : new GroupElements(snapshot);
+        }
+    }
+}
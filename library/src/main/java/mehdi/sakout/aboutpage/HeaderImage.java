@@ -0,0 +1,79 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The source of the header image of an {@link AboutPage}: a drawable resource, or the URI of an
+ * image in the assets or behind a {@link ContentResolver}.
+ */
+final class HeaderImage {
+
+    private static final String ASSET_PATH = "/android_asset/";
+
+    @DrawableRes
+    final int resource;
+    final Uri uri;
+
+    private HeaderImage(@DrawableRes int resource, Uri uri) {
+        this.resource = resource;
+        this.uri = uri;
+    }
+
+    /**
+     * @return the header image of the given model, or null when it has none
+     */
+    @Nullable
+    static HeaderImage of(@NonNull AboutPageModel model) {
+        if (model.getImageUri() != null) {
+            return new HeaderImage(0, model.getImageUri());
+        }
+        return model.getImage() > 0 ? new HeaderImage(model.getImage(), null) : null;
+    }
+
+    /**
+     * @return the URI of the given asset, in the same form as the one WebView accepts
+     */
+    @NonNull
+    static Uri assetUri(@NonNull String path) {
+        return Uri.parse(ContentResolver.SCHEME_FILE + "://" + ASSET_PATH + path);
+    }
+
+    /**
+     * @return the path of the image in the assets, or null when it isn't an asset
+     */
+    @Nullable
+    String getAssetPath() {
+        if (uri == null || !ContentResolver.SCHEME_FILE.equals(uri.getScheme())) {
+            return null;
+        }
+        String path = uri.getPath();
+        return path != null && path.startsWith(ASSET_PATH) ? path.substring(ASSET_PATH.length()) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HeaderImage)) {
+            return false;
+        }
+        HeaderImage image = (HeaderImage) o;
+        return resource == image.resource && (uri == null ? image.uri == null : uri.equals(image.uri));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * resource + (uri != null ? uri.hashCode() : 0);
+    }
+
+    @Override
+    public String toString() {
+        return uri != null ? uri.toString() : "resource:" + Integer.toHexString(resource);
+    }
+}
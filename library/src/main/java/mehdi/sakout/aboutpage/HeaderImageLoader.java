@@ -0,0 +1,176 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.util.LruCache;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the header image of the pages off the main thread.
+ * <p>
+ * Bitmaps are decoded with the largest {@link BitmapFactory.Options#inSampleSize} keeping them at
+ * least as large as they are displayed, the screen being the largest size they can be displayed
+ * at, and kept in a process-wide memory cache so the pages displaying the same image share it.
+ * The drawables keep the size the full image would have, so the layout of the header doesn't
+ * depend on the sampling.
+ */
+final class HeaderImageLoader {
+
+    private static final String LOG_TAG = AboutPage.class.getSimpleName();
+
+    private static final int CACHE_SIZE = (int) Math.min(Runtime.getRuntime().maxMemory() / 32, Integer.MAX_VALUE);
+
+    private static final LruCache<String, Bitmap> sCache = new LruCache<String, Bitmap>(CACHE_SIZE) {
+        @Override
+        protected int sizeOf(String key, Bitmap value) {
+            return value.getByteCount();
+        }
+    };
+
+    /**
+     * Receives the loaded image, on the thread that started the loading
+     */
+    interface Callback {
+        void onLoaded(@Nullable Drawable drawable);
+    }
+
+    private HeaderImageLoader() {
+    }
+
+    /**
+     * Display the given image in the view once it is loaded. The view keeps its current image
+     * until then, and a load replaced by another one before it finishes is dropped.
+     *
+     * @param image the image to display, or null to clear the view
+     */
+    static void into(@NonNull final ImageView view, @Nullable final HeaderImage image) {
+        view.setTag(R.id.about_header_image, image);
+        if (image == null) {
+            view.setImageDrawable(null);
+            return;
+        }
+
+        load(view.getContext(), image, new Callback() {
+            @Override
+            public void onLoaded(@Nullable Drawable drawable) {
+                if (image.equals(view.getTag(R.id.about_header_image))) {
+                    view.setImageDrawable(drawable);
+                }
+            }
+        });
+    }
+
+    /**
+     * Load the given image. It is decoded on the background thread when called from the main
+     * thread, unless it is already cached, and right away otherwise.
+     */
+    static void load(@NonNull final Context context, @NonNull final HeaderImage image, @NonNull final Callback callback) {
+        final DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        final String key = image + "@" + metrics.widthPixels + "x" + metrics.heightPixels + "/" + metrics.densityDpi;
+
+        Bitmap cached = sCache.get(key);
+        if (cached != null) {
+            callback.onLoaded(new BitmapDrawable(context.getResources(), cached));
+            return;
+        }
+
+        if (!AboutPageExecutors.isMainThread()) {
+            callback.onLoaded(decode(context, image, key, metrics));
+            return;
+        }
+
+        AboutPageExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Drawable drawable = decode(context, image, key, metrics);
+                AboutPageExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        callback.onLoaded(drawable);
+                    }
+                });
+            }
+        });
+    }
+
+    @Nullable
+    private static Drawable decode(Context context, HeaderImage image, String key, DisplayMetrics metrics) {
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            // sampled bitmaps are given a density instead of being scaled
+            options.inScaled = false;
+            decodeBitmap(context, image, options);
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                // not a bitmap, for e.g a vector drawable
+                return image.resource != 0 ? ContextCompat.getDrawable(context, image.resource) : null;
+            }
+
+            // resources are decoded with the density of their folder, other images are device pixels
+            int density = image.resource != 0 && options.inDensity > 0 ? options.inDensity : metrics.densityDpi;
+            float scale = (float) metrics.densityDpi / density;
+            float displayedWidth = options.outWidth * scale;
+            float displayedHeight = options.outHeight * scale;
+            float fit = Math.min(1f, Math.min(metrics.widthPixels / displayedWidth, metrics.heightPixels / displayedHeight));
+
+            options.inSampleSize = sampleSize(options.outWidth, options.outHeight,
+                    Math.round(displayedWidth * fit), Math.round(displayedHeight * fit));
+            options.inJustDecodeBounds = false;
+            Bitmap bitmap = decodeBitmap(context, image, options);
+            if (bitmap == null) {
+                return null;
+            }
+
+            bitmap.setDensity(Math.max(1, density / options.inSampleSize));
+            sCache.put(key, bitmap);
+            return new BitmapDrawable(context.getResources(), bitmap);
+        } catch (IOException | RuntimeException e) {
+            Log.e(LOG_TAG, "failed to load the header image " + image, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the largest power of two the image can be divided by while keeping the given size
+     */
+    private static int sampleSize(int width, int height, int requiredWidth, int requiredHeight) {
+        int sampleSize = 1;
+        while (width / (2 * sampleSize) >= requiredWidth && height / (2 * sampleSize) >= requiredHeight) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    @Nullable
+    private static Bitmap decodeBitmap(Context context, HeaderImage image, BitmapFactory.Options options) throws IOException {
+        if (image.resource != 0) {
+            return BitmapFactory.decodeResource(context.getResources(), image.resource, options);
+        }
+
+        String assetPath = image.getAssetPath();
+        InputStream in = assetPath != null
+                ? context.getAssets().open(assetPath)
+                : context.getContentResolver().openInputStream(image.uri);
+        if (in == null) {
+            throw new FileNotFoundException(image.toString());
+        }
+        try {
+            return BitmapFactory.decodeStream(in, null, options);
+        } finally {
+            in.close();
+        }
+    }
+}
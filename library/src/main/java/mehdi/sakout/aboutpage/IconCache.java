@@ -0,0 +1,144 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.res.Configuration;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.util.LruCache;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.DrawableRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.graphics.drawable.DrawableCompat;
+import androidx.vectordrawable.graphics.drawable.VectorDrawableCompat;
+
+/**
+ * Process-wide cache of tinted element icons.
+ * <p>
+ * Icons are keyed by drawable resource, resolved tint, night mode and density. Rows sharing the
+ * same key get drawables created from the same {@link Drawable.ConstantState}, so the vector is
+ * inflated and tinted once, even across pages. The colors of an untinted icon may come from the
+ * theme, for e.g {@code ?attr/colorAccent}, so untinted icons are also keyed by the hash of the
+ * theme and of the configuration they were loaded with, without keeping the theme. A tint
+ * replaces these colors. The icons are dropped once every page using them is released.
+ */
+final class IconCache {
+
+    private static final int MAX_SIZE = 64;
+
+    private static final LruCache<Key, Drawable.ConstantState> sCache = new LruCache<>(MAX_SIZE);
+
+    // the pages that are not released yet
+    private static int sPages = 0;
+
+    private IconCache() {
+    }
+
+    static synchronized void acquire() {
+        sPages++;
+    }
+
+    /**
+     * Drop the cached icons once the last page is released
+     */
+    static synchronized void release() {
+        if (sPages > 0 && --sPages == 0) {
+            sCache.evictAll();
+        }
+    }
+
+    /**
+     * @param tint the color to tint the icon with, null to keep the drawable's own colors
+     * @return the icon, never mutate it since its state may be shared with other rows
+     */
+    @Nullable
+    static Drawable get(@NonNull Context context, @DrawableRes int resource, @Nullable @ColorInt Integer tint) {
+        final Configuration configuration = context.getResources().getConfiguration();
+        final Key key = new Key(resource, tint,
+                configuration.uiMode & Configuration.UI_MODE_NIGHT_MASK,
+                context.getResources().getDisplayMetrics().densityDpi,
+                tint == null ? context.getTheme().hashCode() : 0,
+                tint == null ? configuration.hashCode() : 0);
+
+        Drawable.ConstantState state = sCache.get(key);
+        if (state != null) {
+            return state.newDrawable(context.getResources());
+        }
+
+        Drawable drawable = load(context, resource);
+        if (drawable == null) {
+            return null;
+        }
+
+        drawable = DrawableCompat.wrap(drawable).mutate();
+        if (tint != null) {
+            DrawableCompat.setTint(drawable, tint);
+        }
+
+        state = drawable.getConstantState();
+        if (state != null) {
+            sCache.put(key, state);
+        }
+        return drawable;
+    }
+
+    private static Drawable load(Context context, @DrawableRes int resource) {
+        if (Build.VERSION.SDK_INT < 21) {
+            Drawable vector = VectorDrawableCompat.create(context.getResources(), resource, context.getTheme());
+            if (vector != null) {
+                return vector;
+            }
+        }
+        return ContextCompat.getDrawable(context, resource);
+    }
+
+    private static final class Key {
+        private final int resource;
+        private final Integer tint;
+        private final int nightMode;
+        private final int density;
+        // the hashes of the theme and configuration of the untinted icons, 0 for the tinted ones.
+        // Themes with the same styles have the same hash from API 23, the same instance before.
+        private final int theme;
+        private final int configuration;
+
+        Key(int resource, Integer tint, int nightMode, int density, int theme, int configuration) {
+            this.resource = resource;
+            this.tint = tint;
+            this.nightMode = nightMode;
+            this.density = density;
+            this.theme = theme;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return resource == key.resource
+                    && nightMode == key.nightMode
+                    && density == key.density
+                    && theme == key.theme
+                    && configuration == key.configuration
+                    && (tint == null ? key.tint == null : tint.equals(key.tint));
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resource;
+            result = 31 * result + (tint != null ? tint.hashCode() : 0);
+            result = 31 * result + nightMode;
+            result = 31 * result + density;
+            result = 31 * result + theme;
+            result = 31 * result + configuration;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.pm.PackageManager;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of installed application lookups.
+ * <p>
+ * Each package is queried once with {@link PackageManager#getPackageInfo(String, int)} instead of
+ * scanning every installed package, and the result is kept until the system broadcasts that the
+ * package was added, replaced or removed.
+ */
+final class InstalledApps {
+
+    /**
+     * Version code reported for packages that are not installed
+     */
+    static final int NOT_INSTALLED = -1;
+
+    private static final ConcurrentHashMap<String, Integer> sVersionCodes = new ConcurrentHashMap<>();
+    private static volatile boolean sReceiverRegistered = false;
+
+    private InstalledApps() {
+    }
+
+    /**
+     * @return the versionCode of the installed package or {@link #NOT_INSTALLED}
+     */
+    static int getVersionCode(@NonNull Context context, @NonNull String packageName) {
+        registerReceiver(context);
+
+        Integer versionCode = sVersionCodes.get(packageName);
+        if (versionCode == null) {
+            versionCode = queryVersionCode(context, packageName);
+            sVersionCodes.put(packageName, versionCode);
+        }
+
+        return versionCode;
+    }
+
+    private static int queryVersionCode(Context context, String packageName) {
+        try {
+            return context.getPackageManager().getPackageInfo(packageName, 0).versionCode;
+        } catch (PackageManager.NameNotFoundException e) {
+            return NOT_INSTALLED;
+        }
+    }
+
+    private static void registerReceiver(Context context) {
+        if (sReceiverRegistered) {
+            return;
+        }
+
+        synchronized (InstalledApps.class) {
+            if (sReceiverRegistered) {
+                return;
+            }
+
+            IntentFilter filter = new IntentFilter();
+            filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+            filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+            filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+            filter.addDataScheme("package");
+            context.getApplicationContext().registerReceiver(new PackageChangeReceiver(), filter);
+            sReceiverRegistered = true;
+        }
+    }
+
+    private static class PackageChangeReceiver extends BroadcastReceiver {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            Uri data = intent.getData();
+            if (data != null && data.getSchemeSpecificPart() != null) {
+                sVersionCodes.remove(data.getSchemeSpecificPart());
+            } else {
+                sVersionCodes.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.content.res.AssetFileDescriptor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A packed list of open source licenses, memory-mapped from the assets.
+ * <p>
+ * The pack is written by the {@code about-licenses.gradle} script. All integers are big endian
+ * and all offsets are relative to the start of the pack:
+ * <pre>
+ * header   magic, version, entry count, text count
+ * entries  name offset, name length, license offset, license length, url offset, url length,
+ *          text index, for each entry sorted by name
+ * texts    offset, length, for each distinct license text
+ * data     the UTF-8 strings, each distinct string is stored once
+ * </pre>
+ * Opening a pack reads its tables once, on the worker thread opening it, to check that each entry
+ * and each text refers to strings within the pack, so a corrupted pack fails to open instead of
+ * failing when it is displayed. The tables take 28 bytes per entry and 8 per text, the strings
+ * themselves are only read when they are asked for, so the memory used by the strings depends on
+ * the entries displayed. Packs compressed in the APK can't be mapped, they are copied to the cache
+ * once and mapped from there.
+ */
+final class LicensePack {
+
+    static final int MAGIC = 0x414c4943;
+    static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 28;
+    private static final int TEXT_SIZE = 8;
+
+    private final ByteBuffer mBuffer;
+    private final int mEntryCount;
+    private final int mTextCount;
+    private final int mTextsOffset;
+
+    private LicensePack(ByteBuffer buffer) throws IOException {
+        this.mBuffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("not a license pack");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("unsupported license pack version " + buffer.getInt(4));
+        }
+        mEntryCount = buffer.getInt(8);
+        mTextCount = buffer.getInt(12);
+        long tablesSize = HEADER_SIZE + (long) mEntryCount * ENTRY_SIZE + (long) mTextCount * TEXT_SIZE;
+        if (mEntryCount < 0 || mTextCount < 0 || tablesSize > buffer.limit()) {
+            throw new IOException("truncated license pack");
+        }
+        mTextsOffset = HEADER_SIZE + mEntryCount * ENTRY_SIZE;
+
+        // a corrupted pack fails to open instead of failing when one of its strings is read
+        for (int i = 0; i < mEntryCount; i++) {
+            int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            checkString(entry);
+            checkString(entry + 8);
+            checkString(entry + 16);
+            int text = buffer.getInt(entry + 24);
+            if (text < 0 || text >= mTextCount) {
+                throw new IOException("invalid license text " + text + " of entry " + i);
+            }
+        }
+        for (int i = 0; i < mTextCount; i++) {
+            checkString(mTextsOffset + i * TEXT_SIZE);
+        }
+    }
+
+    /**
+     * @param field the position of the offset of the string, followed by its length
+     * @throws IOException if the string isn't within the pack
+     */
+    private void checkString(int field) throws IOException {
+        int offset = mBuffer.getInt(field);
+        int length = mBuffer.getInt(field + 4);
+        if (offset < 0 || length < 0 || (long) offset + length > mBuffer.limit()) {
+            throw new IOException("string at " + offset + " of length " + length + " out of the license pack");
+        }
+    }
+
+    /**
+     * Map the pack at the given path of the assets
+     */
+    @NonNull
+    @WorkerThread
+    static LicensePack open(@NonNull Context context, @NonNull String assetPath) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = context.getAssets().openFd(assetPath);
+        } catch (FileNotFoundException e) {
+            // the asset is compressed, or missing in which case copying it fails the same way
+            return new LicensePack(map(new FileInputStream(copyToCache(context, assetPath)), 0, -1));
+        }
+
+        FileInputStream in;
+        try {
+            in = descriptor.createInputStream();
+        } catch (IOException e) {
+            descriptor.close();
+            throw e;
+        }
+        // closing the stream closes the descriptor
+        return new LicensePack(map(in, descriptor.getStartOffset(), descriptor.getLength()));
+    }
+
+    /**
+     * @param length the length to map, or -1 to map up to the end of the file
+     */
+    private static ByteBuffer map(FileInputStream in, long offset, long length) throws IOException {
+        try {
+            FileChannel channel = in.getChannel();
+            return channel.map(FileChannel.MapMode.READ_ONLY, offset, length < 0 ? channel.size() - offset : length);
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Copy the asset to the cache unless it was copied since the app was last updated
+     */
+    private static File copyToCache(Context context, String assetPath) throws IOException {
+        long updateTime;
+        try {
+            updateTime = context.getPackageManager().getPackageInfo(context.getPackageName(), 0).lastUpdateTime;
+        } catch (PackageManager.NameNotFoundException e) {
+            updateTime = 0;
+        }
+
+        String prefix = assetPath.replace('/', '_') + ".";
+        File file = new File(context.getCacheDir(), "about_licenses/" + prefix + updateTime);
+        if (file.exists()) {
+            return file;
+        }
+
+        File directory = file.getParentFile();
+        File[] stale = directory.listFiles();
+        if (stale != null) {
+            for (File candidate : stale) {
+                // only one copy per asset, the other ones are from previous versions of the app
+                if (candidate.getName().startsWith(prefix)) {
+                    candidate.delete();
+                }
+            }
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("can't create " + directory);
+        }
+
+        File temporary = new File(directory, file.getName() + ".tmp");
+        InputStream in = context.getAssets().open(assetPath);
+        try {
+            OutputStream out = new FileOutputStream(temporary);
+            try {
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, count);
+                }
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+
+        if (!temporary.renameTo(file)) {
+            throw new IOException("can't create " + file);
+        }
+        return file;
+    }
+
+    int getEntryCount() {
+        return mEntryCount;
+    }
+
+    @NonNull
+    String getName(int position) {
+        return getString(entryOffset(position));
+    }
+
+    @NonNull
+    String getLicenseName(int position) {
+        return getString(entryOffset(position) + 8);
+    }
+
+    @Nullable
+    String getUrl(int position) {
+        String url = getString(entryOffset(position) + 16);
+        return url.isEmpty() ? null : url;
+    }
+
+    /**
+     * Read the text of the license of the given entry. Entries under the same license share it.
+     */
+    @NonNull
+    @WorkerThread
+    String getText(int position) {
+        int text = mBuffer.getInt(entryOffset(position) + 24);
+        return getString(mTextsOffset + text * TEXT_SIZE);
+    }
+
+    private int entryOffset(int position) {
+        if (position < 0 || position >= mEntryCount) {
+            throw new IndexOutOfBoundsException("entry " + position + " of " + mEntryCount);
+        }
+        return HEADER_SIZE + position * ENTRY_SIZE;
+    }
+
+    /**
+     * @param field the position of the offset of the string, followed by its length, checked when
+     *              the pack was opened
+     */
+    private String getString(int field) {
+        int offset = mBuffer.getInt(field);
+        int length = mBuffer.getInt(field + 4);
+        byte[] bytes = new byte[length];
+        // a duplicate has its own position, so strings can be read from several threads
+        ByteBuffer buffer = mBuffer.duplicate();
+        buffer.position(offset);
+        buffer.get(bytes);
+        try {
+            return new String(bytes, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package mehdi.sakout.aboutpage;
+
+import android.app.Activity;
+import android.app.AlertDialog;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Bundle;
+import android.text.TextUtils;
+import android.util.Log;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.io.IOException;
+
+/**
+ * Lists the open source licenses of a pack from the assets, opened by the element added with
+ * {@link AboutPage#addLicenses(String, String)}.
+ * <p>
+ * Only the entries on screen are read from the pack, and the text of a license is read when its
+ * entry is clicked.
+ */
+public class LicensesActivity extends Activity {
+
+    private static final String LOG_TAG = AboutPage.class.getSimpleName();
+
+    private static final String EXTRA_ASSET_PATH = "mehdi.sakout.aboutpage.extra.ASSET_PATH";
+    private static final String EXTRA_TITLE = "mehdi.sakout.aboutpage.extra.TITLE";
+
+    private RecyclerView mRecyclerView;
+    private LicensePack mPack;
+    private boolean mDestroyed = false;
+
+    static Intent createIntent(@NonNull Context context, @NonNull String assetPath, String title) {
+        return new Intent(context, LicensesActivity.class)
+                .putExtra(EXTRA_ASSET_PATH, assetPath)
+                .putExtra(EXTRA_TITLE, title);
+    }
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+
+        String title = getIntent().getStringExtra(EXTRA_TITLE);
+        if (!TextUtils.isEmpty(title)) {
+            setTitle(title);
+        }
+
+        mRecyclerView = new RecyclerView(this);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(this));
+        mRecyclerView.setHasFixedSize(true);
+        setContentView(mRecyclerView);
+
+        final String assetPath = getIntent().getStringExtra(EXTRA_ASSET_PATH);
+        final Context context = getApplicationContext();
+        AboutPageExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final LicensePack pack = LicensePack.open(context, assetPath);
+                    AboutPageExecutors.mainHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!mDestroyed) {
+                                mPack = pack;
+                                mRecyclerView.setAdapter(new LicensesAdapter(pack));
+                            }
+                        }
+                    });
+                } catch (IOException e) {
+                    Log.e(LOG_TAG, "failed to open the licenses '" + assetPath + "'", e);
+                    AboutPageExecutors.mainHandler().post(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!mDestroyed) {
+                                Toast.makeText(LicensesActivity.this, R.string.about_licenses_error, Toast.LENGTH_LONG).show();
+                                finish();
+                            }
+                        }
+                    });
+                }
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        mDestroyed = true;
+        super.onDestroy();
+    }
+
+    private void showLicense(final int position) {
+        final LicensePack pack = mPack;
+        AboutPageExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                String text = pack.getText(position);
+                String url = pack.getUrl(position);
+                if (url != null && !text.contains(url)) {
+                    text += "\n\n" + url;
+                }
+
+                final CharSequence message = text;
+                AboutPageExecutors.mainHandler().post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (mDestroyed) {
+                            return;
+                        }
+                        new AlertDialog.Builder(LicensesActivity.this)
+                                .setTitle(pack.getName(position))
+                                .setMessage(message)
+                                .setPositiveButton(android.R.string.ok, null)
+                                .show();
+                    }
+                });
+            }
+        });
+    }
+
+    private final class LicensesAdapter extends RecyclerView.Adapter<LicenseHolder> {
+        private final LicensePack mPack;
+
+        LicensesAdapter(LicensePack pack) {
+            this.mPack = pack;
+        }
+
+        @Override
+        public int getItemCount() {
+            return mPack.getEntryCount();
+        }
+
+        @NonNull
+        @Override
+        public LicenseHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final LicenseHolder holder = new LicenseHolder(LayoutInflater.from(parent.getContext())
+                    .inflate(R.layout.about_license_item, parent, false));
+            holder.itemView.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View view) {
+                    int position = holder.getAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        showLicense(position);
+                    }
+                }
+            });
+            return holder;
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull LicenseHolder holder, int position) {
+            // two short strings decoded from the mapped pack on the main thread, only the pages
+            // of the displayed entries are read. The tables were read by the worker opening it.
+            holder.nameView.setText(mPack.getName(position));
+            holder.licenseView.setText(mPack.getLicenseName(position));
+        }
+    }
+
+    private static final class LicenseHolder extends RecyclerView.ViewHolder {
+        final TextView nameView;
+        final TextView licenseView;
+
+        LicenseHolder(View itemView) {
+            super(itemView);
+            nameView = (TextView) itemView.findViewById(R.id.about_license_name);
+            licenseView = (TextView) itemView.findViewById(R.id.about_license_type);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package mehdi.sakout.aboutpage;
+
+import android.view.View;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders the rows of an {@link AboutPage} as children of the {@code about_providers} layout and
+ * keeps track of them, so the page can be updated without rebuilding the rows that didn't change.
+ */
+final class LinearRenderer {
+
+    private final RowFactory mRowFactory;
+    private final AboutProvidersLayout mProviders;
+    private final int mFirstRow;
+    private List<Row> mRows = new ArrayList<>();
+    private List<RenderedRow> mRendered = new ArrayList<>();
+
+    private static final class RenderedRow {
+        final View view;
+        final RowFactory.ItemRow itemRow;
+
+        RenderedRow(View view, RowFactory.ItemRow itemRow) {
+            this.view = view;
+            this.itemRow = itemRow;
+        }
+    }
+
+    /**
+     * @param firstRow the index of the first row in the providers layout, the children before it
+     *                 are left untouched
+     */
+    LinearRenderer(RowFactory rowFactory, AboutProvidersLayout providers, int firstRow) {
+        this.mRowFactory = rowFactory;
+        this.mProviders = providers;
+        this.mFirstRow = firstRow;
+    }
+
+    void append(Row row) {
+        RenderedRow rendered = render(row);
+        mRows.add(row);
+        mRendered.add(rendered);
+        mProviders.addView(rendered.view);
+    }
+
+    /**
+     * Append the given rows, creating all of them before attaching them in a single layout pass
+     */
+    void appendAll(List<Row> rows) {
+        List<View> views = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            RenderedRow rendered = render(row);
+            mRows.add(row);
+            mRendered.add(rendered);
+            views.add(rendered.view);
+        }
+        mProviders.addRows(views);
+    }
+
+    /**
+     * Display the given rows. Rows with the same key as a displayed row keep their views, and are
+     * only rebound when their content changed. The other rows are created or removed. The filter
+     * is cleared, its matches being positions of the previous rows.
+     */
+    void update(List<Row> rows) {
+        List<Row.Key> oldKeys = Row.keys(mRows);
+        List<Row.Key> newKeys = Row.keys(rows);
+
+        Map<Row.Key, Integer> oldPositions = new HashMap<>(oldKeys.size());
+        for (int i = 0; i < oldKeys.size(); i++) {
+            oldPositions.put(oldKeys.get(i), i);
+        }
+
+        List<RenderedRow> rendered = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            Integer oldPosition = oldPositions.remove(newKeys.get(i));
+            if (oldPosition == null) {
+                rendered.add(render(row));
+                continue;
+            }
+
+            RenderedRow reused = mRendered.get(oldPosition);
+            if (!row.hasSameContent(mRows.get(oldPosition))) {
+                bind(reused, row);
+            }
+            rendered.add(reused);
+        }
+
+        for (Integer removed : oldPositions.values()) {
+            mProviders.removeView(mRendered.get(removed).view);
+        }
+
+        // move the kept rows and insert the new ones at their position
+        for (int i = 0; i < rendered.size(); i++) {
+            View view = rendered.get(i).view;
+            if (mProviders.getChildAt(mFirstRow + i) == view) {
+                continue;
+            }
+            if (view.getParent() != null) {
+                mProviders.removeView(view);
+            }
+            mProviders.addView(view, mFirstRow + i);
+        }
+
+        mRows = new ArrayList<>(rows);
+        mRendered = rendered;
+        setFilter(null);
+    }
+
+    /**
+     * Only display the rows of the given elements, by hiding the other rows
+     *
+     * @param matches the elements to display, or null to display all the rows
+     */
+    void setFilter(ElementIndex.Matches matches) {
+        BitSet visible = Row.visibleRows(mRows, matches);
+        for (int i = 0; i < mRendered.size(); i++) {
+            int visibility = visible == null || visible.get(i) ? View.VISIBLE : View.GONE;
+            View view = mRendered.get(i).view;
+            if (view.getVisibility() != visibility) {
+                view.setVisibility(visibility);
+            }
+        }
+    }
+
+    private RenderedRow render(Row row) {
+        switch (row.type) {
+            case Row.TYPE_GROUP:
+                return new RenderedRow(mRowFactory.createGroup(row.group), null);
+            case Row.TYPE_ITEM:
+                RowFactory.ItemRow itemRow = mRowFactory.createItemRow();
+                mRowFactory.bindItem(itemRow, row.toElement());
+                return new RenderedRow(itemRow.view, itemRow);
+            case Row.TYPE_SEPARATOR:
+                return new RenderedRow(mRowFactory.createSeparator(mProviders), null);
+            default:
+                throw new IllegalArgumentException("Unsupported row type " + row.type);
+        }
+    }
+
+    private void bind(RenderedRow rendered, Row row) {
+        if (row.type == Row.TYPE_ITEM) {
+            mRowFactory.bindItem(rendered.itemRow, row.toElement());
+        } else if (row.type == Row.TYPE_GROUP) {
+            mRowFactory.bindGroup((TextView) rendered.view, row.group);
+        }
+    }
+}
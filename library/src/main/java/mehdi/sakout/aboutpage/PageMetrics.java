@@ -0,0 +1,67 @@
+package mehdi.sakout.aboutpage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.os.TraceCompat;
+
+/**
+ * Times the phases of an {@link AboutPage} for its {@link AboutPage.PerformanceListener}. Each
+ * phase is also emitted as a trace section named after it. Nothing is measured nor traced while
+ * no listener is set.
+ */
+final class PageMetrics {
+
+    private AboutPage.PerformanceListener mListener;
+
+    void setListener(@Nullable AboutPage.PerformanceListener listener) {
+        this.mListener = listener;
+    }
+
+    boolean isEnabled() {
+        return mListener != null;
+    }
+
+    /**
+     * @return the start time to pass to {@link #end(String, long)}, 0 when disabled
+     */
+    long begin(@NonNull String phase) {
+        if (mListener == null) {
+            return 0;
+        }
+        TraceCompat.beginSection(phase);
+        return System.nanoTime();
+    }
+
+    void end(@NonNull String phase, long start) {
+        // the listener may have been set in between, the section was then never started
+        if (start == 0) {
+            return;
+        }
+        long duration = System.nanoTime() - start;
+        // the section is closed even when the listener was removed in between
+        TraceCompat.endSection();
+        if (mListener != null) {
+            mListener.onPhase(phase, duration);
+        }
+    }
+
+    void created(int elementCount, int viewCount, long allocatedBytes) {
+        if (mListener != null) {
+            mListener.onCreated(elementCount, viewCount, allocatedBytes);
+        }
+    }
+
+    void firstFrame(long sinceCreate) {
+        if (mListener != null) {
+            mListener.onPhase(AboutPage.PerformanceListener.PHASE_FIRST_FRAME, sinceCreate);
+        }
+    }
+
+    /**
+     * @return an estimate of the heap currently used, to compute the allocations of a phase
+     */
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
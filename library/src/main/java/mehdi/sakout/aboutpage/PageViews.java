@@ -0,0 +1,91 @@
+package mehdi.sakout.aboutpage;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.StyleRes;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * The root view of an {@link AboutPage} and the containers looked up once after inflating it.
+ * The holder is kept as a tag of the root view so the root can be recycled by an
+ * {@link AboutPageViewPool}.
+ */
+final class PageViews {
+
+    final View root;
+    @LayoutRes
+    final int layout;
+    @StyleRes
+    final int style;
+
+    // views of the about_page and about_page_flat layouts, null for the about_page_recycler layout
+    final AboutProvidersLayout providers;
+    // the index of the first row in the providers, the header may be laid out before it
+    final int firstRow;
+    final ImageView imageView;
+    final TextView descriptionView;
+
+    // the root of the about_page_recycler layout, null for the other layouts
+    final RecyclerView recyclerView;
+
+    private PageViews(View root, int layout, int style) {
+        this.root = root;
+        this.layout = layout;
+        this.style = style;
+        if (root instanceof RecyclerView) {
+            this.recyclerView = (RecyclerView) root;
+            this.providers = null;
+            this.firstRow = 0;
+            this.imageView = null;
+            this.descriptionView = null;
+        } else {
+            this.recyclerView = null;
+            this.providers = root.findViewById(R.id.about_providers);
+            this.firstRow = providers.getChildCount();
+            this.imageView = root.findViewById(R.id.image);
+            this.descriptionView = root.findViewById(R.id.description);
+        }
+        root.setTag(R.id.about_page_views, this);
+    }
+
+    /**
+     * @param inflater an inflater whose context is themed with the given style
+     */
+    static PageViews inflate(@NonNull LayoutInflater inflater, @LayoutRes int layout, @StyleRes int style) {
+        return new PageViews(inflater.inflate(layout, null), layout, style);
+    }
+
+    /**
+     * @return the holder of the given AboutPage root view, or null if it isn't one
+     */
+    @Nullable
+    static PageViews from(@NonNull View root) {
+        Object tag = root.getTag(R.id.about_page_views);
+        return tag instanceof PageViews ? (PageViews) tag : null;
+    }
+
+    /**
+     * Bring the views back to their freshly inflated state, ready to be used by another page
+     */
+    void reset() {
+        if (recyclerView != null) {
+            recyclerView.setAdapter(null);
+            recyclerView.setRecycledViewPool(null);
+            while (recyclerView.getItemDecorationCount() > 0) {
+                recyclerView.removeItemDecorationAt(0);
+            }
+            return;
+        }
+
+        providers.removeViews(firstRow, providers.getChildCount() - firstRow);
+        providers.setSeparatorDecoration(null);
+        HeaderImageLoader.into(imageView, null);
+        root.scrollTo(0, 0);
+    }
+}
@@ -0,0 +1,109 @@
+package mehdi.sakout.aboutpage;
+
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.text.PrecomputedTextCompat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The titles and the description of an {@link AboutPage} measured ahead of binding them, with the
+ * text metrics of the rows displaying them.
+ * <p>
+ * {@link RowFactory} binds a precomputed text only when its params still match the ones of the
+ * view, any other text is bound as is.
+ */
+final class PrecomputedTexts {
+
+    private static final String LOG_TAG = AboutPage.class.getSimpleName();
+
+    private final Map<String, PrecomputedTextCompat> mTitles = new HashMap<>();
+    private final Map<String, PrecomputedTextCompat> mGroups = new HashMap<>();
+    private CharSequence mDescriptionSource;
+    private PrecomputedTextCompat mDescription;
+
+    private PrecomputedTexts() {
+    }
+
+    /**
+     * Measure the texts of the given model. The params are resolved on the calling thread, the texts
+     * are measured on the background thread when it is the main thread and right away otherwise.
+     */
+    @NonNull
+    static Future<PrecomputedTexts> compute(@NonNull RowFactory rowFactory, @NonNull final AboutPageModel model) {
+        final PrecomputedTextCompat.Params titleParams = rowFactory.getTitleTextParams();
+        final PrecomputedTextCompat.Params groupParams = rowFactory.getGroupTextParams();
+        final PrecomputedTextCompat.Params descriptionParams = rowFactory.getDescriptionTextParams();
+        final CharSequence description = rowFactory.resolveDescription(model.getDescription());
+
+        FutureTask<PrecomputedTexts> task = new FutureTask<>(new Callable<PrecomputedTexts>() {
+            @Override
+            public PrecomputedTexts call() {
+                PrecomputedTexts texts = new PrecomputedTexts();
+                texts.mDescriptionSource = description;
+                texts.mDescription = PrecomputedTextCompat.create(description, descriptionParams);
+                for (AboutPageModel.Group group : model.getGroups()) {
+                    put(texts.mGroups, group.getTitle(), groupParams);
+                    GroupElements elements = group.elements();
+                    for (int i = 0; i < elements.size(); i++) {
+                        put(texts.mTitles, elements.getTitle(i), titleParams);
+                    }
+                }
+                return texts;
+            }
+        });
+
+        if (AboutPageExecutors.isMainThread()) {
+            AboutPageExecutors.background().execute(task);
+        } else {
+            task.run();
+        }
+        return task;
+    }
+
+    private static void put(Map<String, PrecomputedTextCompat> texts, String text, PrecomputedTextCompat.Params params) {
+        if (!TextUtils.isEmpty(text) && !texts.containsKey(text)) {
+            texts.put(text, PrecomputedTextCompat.create(text, params));
+        }
+    }
+
+    /**
+     * Wait for the texts to be measured
+     *
+     * @return the measured texts, or null when they couldn't be measured and are bound as is
+     */
+    @Nullable
+    static PrecomputedTexts get(@NonNull Future<PrecomputedTexts> texts) {
+        try {
+            return texts.get();
+        } catch (ExecutionException e) {
+            Log.e(LOG_TAG, "failed to precompute the texts of the page", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    @Nullable
+    PrecomputedTextCompat getTitle(@Nullable String title) {
+        return title != null ? mTitles.get(title) : null;
+    }
+
+    @Nullable
+    PrecomputedTextCompat getGroup(@Nullable String name) {
+        return name != null ? mGroups.get(name) : null;
+    }
+
+    @Nullable
+    PrecomputedTextCompat getDescription(CharSequence description) {
+        return TextUtils.equals(mDescriptionSource, description) ? mDescription : null;
+    }
+}
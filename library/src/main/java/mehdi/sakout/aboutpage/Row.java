@@ -0,0 +1,243 @@
+package mehdi.sakout.aboutpage;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A single row of a rendered {@link AboutPage}: the page header, a group title, an element or the
+ * separator following an element.
+ */
+final class Row {
+
+    static final int TYPE_HEADER = 0;
+    static final int TYPE_GROUP = 1;
+    static final int TYPE_ITEM = 2;
+    static final int TYPE_SEPARATOR = 3;
+
+    final int type;
+    // the element of the row, or null when it displays the entry of a list
+    final Element element;
+    final ElementList list;
+    final int index;
+    final String group;
+    // the version of the element when the row was created, to rebind it once changed in place
+    private final int version;
+
+    private Row(int type, Element element, ElementList list, int index, String group) {
+        this.type = type;
+        this.element = element;
+        this.list = list;
+        this.index = index;
+        this.group = group;
+        this.version = version();
+    }
+
+    static Row header() {
+        return new Row(TYPE_HEADER, null, null, -1, null);
+    }
+
+    static Row group(String name) {
+        return new Row(TYPE_GROUP, null, null, -1, name);
+    }
+
+    static Row item(Element element) {
+        return new Row(TYPE_ITEM, element, null, -1, null);
+    }
+
+    static Row item(ElementList list, int index) {
+        return new Row(TYPE_ITEM, null, list, index, null);
+    }
+
+    static Row separator(Element element) {
+        return new Row(TYPE_SEPARATOR, element, null, -1, null);
+    }
+
+    static Row separator(ElementList list, int index) {
+        return new Row(TYPE_SEPARATOR, null, list, index, null);
+    }
+
+    /**
+     * @param withSeparators false when the element rows draw their own separator
+     * @return the rows displaying the groups and elements of the given model, without the header
+     */
+    static List<Row> from(AboutPageModel model, boolean withSeparators) {
+        List<Row> rows = new ArrayList<>(2 * model.getElementCount() + model.getGroups().size());
+        for (AboutPageModel.Group group : model.getGroups()) {
+            if (group.getTitle() != null) {
+                rows.add(group(group.getTitle()));
+            }
+            group.elements().addRows(rows, withSeparators);
+        }
+        return rows;
+    }
+
+    /**
+     * @return the element displayed by this item row, a new one reading the entry of its list
+     * for the rows of a list, to bind or click the row
+     */
+    @NonNull
+    Element toElement() {
+        return element != null ? element : list.get(index);
+    }
+
+    @Nullable
+    String title() {
+        return element != null ? element.getTitle() : list.getTitle(index);
+    }
+
+    int icon() {
+        return element != null ? element.icon() : list.getIcon(index);
+    }
+
+    int gravity() {
+        return element != null ? element.gravity() : list.getGravity(index);
+    }
+
+    private int version() {
+        if (element != null) {
+            return element.version();
+        }
+        return list != null ? list.getVersion(index) : 0;
+    }
+
+    /**
+     * Find the rows to display once the elements are filtered: the header, the matching elements
+     * with their separator and the titles of the groups holding at least one of them.
+     *
+     * @param matches the elements to display, or null to display all the rows
+     * @return the positions of the rows to display, or null when all the rows are displayed
+     */
+    @Nullable
+    static BitSet visibleRows(List<Row> rows, @Nullable ElementIndex.Matches matches) {
+        if (matches == null) {
+            return null;
+        }
+        BitSet visible = new BitSet(rows.size());
+        int group = -1;
+        int element = -1;
+        boolean matching = false;
+        for (int i = 0; i < rows.size(); i++) {
+            switch (rows.get(i).type) {
+                case TYPE_GROUP:
+                    group = i;
+                    break;
+                case TYPE_ITEM:
+                    matching = matches.contains(++element);
+                    if (matching) {
+                        visible.set(i);
+                        if (group >= 0) {
+                            visible.set(group);
+                        }
+                    }
+                    break;
+                case TYPE_SEPARATOR:
+                    if (matching) {
+                        visible.set(i);
+                    }
+                    break;
+                default:
+                    visible.set(i);
+                    break;
+            }
+        }
+        return visible;
+    }
+
+    /**
+     * Compute the stable keys of the given rows. Rows sharing the same identity, for e.g two groups
+     * with the same title, are told apart by their order of appearance.
+     */
+    static List<Key> keys(List<Row> rows) {
+        List<Key> keys = new ArrayList<>(rows.size());
+        Map<Object, Integer> occurrences = new HashMap<>();
+        for (Row row : rows) {
+            Object identity = row.identity();
+            Integer occurrence = occurrences.get(identity);
+            occurrence = occurrence == null ? 0 : occurrence + 1;
+            occurrences.put(identity, occurrence);
+            keys.add(new Key(row.type, identity, occurrence));
+        }
+        return keys;
+    }
+
+    /**
+     * @return true when the row displays the same content as the other row of the same key. The
+     * other row displays the content of its element when it was created, an element changed in
+     * place since then is never the same, even when compared with itself.
+     */
+    boolean hasSameContent(@NonNull Row other) {
+        switch (type) {
+            case TYPE_GROUP:
+                return group.equals(other.group);
+            case TYPE_ITEM:
+                if (other.version != other.version()) {
+                    return false;
+                }
+                if (element != null ? element == other.element : list == other.list && index == other.index) {
+                    return true;
+                }
+                return toElement().hasSameContent(other.toElement());
+            default:
+                return true;
+        }
+    }
+
+    private Object identity() {
+        switch (type) {
+            case TYPE_GROUP:
+                return group;
+            case TYPE_ITEM:
+            case TYPE_SEPARATOR:
+                if (element != null) {
+                    return identity(element);
+                }
+                String id = list.getId(index);
+                return id != null ? id : list.entry(index);
+            default:
+                return type;
+        }
+    }
+
+    /**
+     * @return what matches the given element across updates: its id, otherwise its entry in the
+     * list storing it or the element itself
+     */
+    static Object identity(@NonNull Element element) {
+        return element.getId() != null ? element.getId() : element.entry();
+    }
+
+    static final class Key {
+        private final int type;
+        private final Object identity;
+        private final int occurrence;
+
+        Key(int type, Object identity, int occurrence) {
+            this.type = type;
+            this.identity = identity;
+            this.occurrence = occurrence;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return type == key.type && occurrence == key.occurrence && identity.equals(key.identity);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * type + identity.hashCode()) + occurrence;
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.ActivityNotFoundException;
+import android.content.Context;
+import android.content.Intent;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.text.TextUtils;
+import android.util.Log;
+import android.view.Gravity;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.text.PrecomputedTextCompat;
+import androidx.core.widget.TextViewCompat;
+
+/**
+ * Creates and binds the rows of an {@link AboutPage}. Rows are created empty and bound to an
+ * {@link Element} or a group title afterwards, so the same row can be rebound when it is recycled.
+ */
+final class RowFactory {
+    private static final String LOG_TAG = AboutPage.class.getSimpleName();
+
+    private Context mContext;
+    private LayoutInflater mInflater;
+    private final AboutPageStyle mStyle;
+    private final PageMetrics mMetrics;
+    private boolean mIsRTL = false;
+    private Typeface mCustomFont;
+    private boolean mCompactRows = false;
+    private boolean mFlatLayout = false;
+    private boolean mDrawnSeparators = false;
+    private PrecomputedTexts mPrecomputedTexts;
+
+    RowFactory(Context context, LayoutInflater inflater, AboutPageStyle style, PageMetrics metrics) {
+        this.mContext = context;
+        this.mInflater = inflater;
+        this.mStyle = style;
+        this.mMetrics = metrics;
+        IconCache.acquire();
+    }
+
+    /**
+     * Drop the context, so a released page doesn't keep its Activity. The rows already created
+     * keep working but are bound without icons, nothing can be created afterwards.
+     */
+    void release() {
+        if (mContext == null) {
+            return;
+        }
+        IconCache.release();
+        TypefaceCache.prune();
+        mContext = null;
+        mInflater = null;
+        mPrecomputedTexts = null;
+    }
+
+    /**
+     * @return true once the page is released, nothing can be loaded or created anymore
+     */
+    boolean isReleased() {
+        return mContext == null;
+    }
+
+    void setRTL(boolean value) {
+        this.mIsRTL = value;
+    }
+
+    boolean isRTL() {
+        return mIsRTL;
+    }
+
+    void setCustomFont(Typeface typeface) {
+        this.mCustomFont = typeface;
+    }
+
+    @Nullable
+    Typeface getCustomFont() {
+        return mCustomFont;
+    }
+
+    void setCompactRows(boolean value) {
+        this.mCompactRows = value;
+    }
+
+    /**
+     * @return the compact rows option of the page, regardless of its layout
+     */
+    boolean isCompactRows() {
+        return mCompactRows;
+    }
+
+    /**
+     * @param value true when the rows are created for a flat layout, which only holds compact rows
+     */
+    void setFlatLayout(boolean value) {
+        this.mFlatLayout = value;
+    }
+
+    /**
+     * @return true when the element rows are created as a single {@link CompactRowView}
+     */
+    private boolean createsCompactRows() {
+        return mCompactRows || mFlatLayout;
+    }
+
+    void setDrawnSeparators(boolean value) {
+        this.mDrawnSeparators = value;
+    }
+
+    boolean isDrawnSeparators() {
+        return mDrawnSeparators;
+    }
+
+    void setPrecomputedTexts(@Nullable PrecomputedTexts texts) {
+        this.mPrecomputedTexts = texts;
+    }
+
+    /**
+     * Views of an element row. Compact rows are a single {@link CompactRowView}, regular rows are
+     * a LinearLayout holding the title, and the icon once the row is bound to an element having one.
+     */
+    static final class ItemRow {
+        final View view;
+        final LinearLayout wrapper;
+        // created when the row is first bound to an element with an icon
+        ImageView iconView;
+        final TextView textView;
+        final CompactRowView compactView;
+
+        ItemRow(LinearLayout wrapper, TextView textView) {
+            this.view = wrapper;
+            this.wrapper = wrapper;
+            this.iconView = null;
+            this.textView = textView;
+            this.compactView = null;
+        }
+
+        ItemRow(CompactRowView compactView) {
+            this.view = compactView;
+            this.wrapper = null;
+            this.iconView = null;
+            this.textView = compactView;
+            this.compactView = compactView;
+        }
+    }
+
+    /**
+     * @return true when the separators are drawn by the container of the regular rows
+     */
+    boolean hasDrawnSeparators() {
+        return mDrawnSeparators && !createsCompactRows();
+    }
+
+    /**
+     * @return false when the separators are drawn, either by compact rows or by their container,
+     * and no separator row is needed
+     */
+    boolean hasSeparatorRows() {
+        return !createsCompactRows() && !mDrawnSeparators;
+    }
+
+    ItemRow createItemRow() {
+        long start = mMetrics.begin(AboutPage.PerformanceListener.PHASE_CREATE_ITEM);
+        ItemRow row = createsCompactRows() ? createCompactItemRow() : createRegularItemRow();
+        mMetrics.end(AboutPage.PerformanceListener.PHASE_CREATE_ITEM, start);
+        return row;
+    }
+
+    private ItemRow createRegularItemRow() {
+        LinearLayout wrapper = new LinearLayout(mContext);
+        wrapper.setOrientation(LinearLayout.HORIZONTAL);
+        wrapper.setClickable(true);
+        wrapper.setBackgroundResource(mStyle.itemBackground);
+
+        wrapper.setPadding(mStyle.textPadding, mStyle.textPadding, mStyle.textPadding, mStyle.textPadding);
+        LinearLayout.LayoutParams wrapperParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        if (mDrawnSeparators) {
+            // leave room for the separator drawn by the container
+            wrapperParams.bottomMargin = mStyle.separatorHeight;
+            SeparatorDecoration.setSeparatorBelow(wrapper, true);
+        }
+        wrapper.setLayoutParams(wrapperParams);
+
+        TextView textView = new TextView(mContext);
+        TextViewCompat.setTextAppearance(textView, mStyle.elementTextAppearance);
+        LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        textView.setLayoutParams(textParams);
+        if (mCustomFont != null) {
+            textView.setTypeface(mCustomFont);
+        }
+
+        wrapper.addView(textView);
+        return new ItemRow(wrapper, textView);
+    }
+
+    /**
+     * Add the icon view to a regular row, before its title or after it in RTL layout mode
+     */
+    private ImageView createIconView(ItemRow row) {
+        ImageView iconView = new ImageView(mContext);
+        LinearLayout.LayoutParams iconParams = new LinearLayout.LayoutParams(mStyle.iconSize, mStyle.iconSize);
+        iconView.setLayoutParams(iconParams);
+        iconView.setPadding(mStyle.iconPadding, 0, mStyle.iconPadding, 0);
+
+        row.wrapper.addView(iconView, mIsRTL ? 1 : 0);
+        row.iconView = iconView;
+        return iconView;
+    }
+
+    private ItemRow createCompactItemRow() {
+        CompactRowView view = new CompactRowView(mContext, mStyle, mIsRTL);
+        view.setClickable(true);
+        view.setBackgroundResource(mStyle.itemBackground);
+        view.setLayoutParams(new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        TextViewCompat.setTextAppearance(view, mStyle.elementTextAppearance);
+        if (mCustomFont != null) {
+            view.setTypeface(mCustomFont);
+        }
+        return new ItemRow(view);
+    }
+
+    void bindItem(@NonNull ItemRow row, @NonNull Element element) {
+        long start = mMetrics.begin(AboutPage.PerformanceListener.PHASE_BIND_ITEM);
+        bindItemViews(row, element);
+        mMetrics.end(AboutPage.PerformanceListener.PHASE_BIND_ITEM, start);
+    }
+
+    private void bindItemViews(@NonNull ItemRow row, @NonNull Element element) {
+        bindClick(row.view, element);
+        setText(row.textView, element.getTitle(), mPrecomputedTexts != null ? mPrecomputedTexts.getTitle(element.getTitle()) : null);
+
+        int gravity = element.gravity();
+        if (gravity == Element.NO_GRAVITY) {
+            gravity = mIsRTL ? Gravity.END : Gravity.START;
+        }
+
+        if (row.compactView != null) {
+            row.compactView.setIcon(element.icon() != Element.NO_RESOURCE ? loadIcon(element) : null);
+            //noinspection ResourceType
+            row.compactView.setGravity(gravity | Gravity.CENTER_VERTICAL);
+            return;
+        }
+
+        TextView textView = row.textView;
+        if (element.icon() != Element.NO_RESOURCE) {
+            ImageView iconView = row.iconView != null ? row.iconView : createIconView(row);
+            iconView.setVisibility(View.VISIBLE);
+            textView.setPadding(0, 0, 0, 0);
+            iconView.setImageDrawable(loadIcon(element));
+        } else {
+            // a recycled row keeps the icon view of its previous element, hidden
+            if (row.iconView != null) {
+                row.iconView.setVisibility(View.GONE);
+                row.iconView.setImageDrawable(null);
+            }
+            textView.setPadding(mStyle.iconPadding, mStyle.iconPadding, mStyle.iconPadding, mStyle.iconPadding);
+        }
+
+        row.wrapper.setGravity(gravity | Gravity.CENTER_VERTICAL);
+        //noinspection ResourceType
+        ((LinearLayout.LayoutParams) textView.getLayoutParams()).gravity = gravity | Gravity.CENTER_VERTICAL;
+    }
+
+    private void bindClick(View view, final Element element) {
+        if (element.getOnClickListener() != null) {
+            view.setOnClickListener(element.getOnClickListener());
+        } else if (element.hasIntent() || element.getIntentProvider() != null) {
+            view.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View view) {
+                    startIntent(view.getContext(), element);
+                }
+            });
+        } else {
+            view.setOnClickListener(null);
+            view.setClickable(true);
+        }
+    }
+
+    /**
+     * Perform the click of the given element on a view that doesn't use {@link #bindItem}
+     */
+    void performClick(@NonNull View view, @NonNull Element element) {
+        if (element.getOnClickListener() != null) {
+            element.getOnClickListener().onClick(view);
+        } else if (element.hasIntent() || element.getIntentProvider() != null) {
+            startIntent(view.getContext(), element);
+        }
+    }
+
+    /**
+     * @param context the context of the clicked view, the page may have been released since
+     */
+    private static void startIntent(Context context, Element element) {
+        Intent intent = element.getIntent() != null
+                ? element.getIntent()
+                : element.getIntentProvider().getIntent(context);
+        if (intent == null) {
+            return;
+        }
+        try {
+            context.startActivity(intent);
+        } catch (ActivityNotFoundException e) {
+            Log.e(LOG_TAG, "failed to launch intent for '" + element.getTitle() + "' element", e);
+        }
+    }
+
+    /**
+     * @return the icon of the given element, or null once the page is released
+     */
+    @Nullable
+    Drawable loadIcon(Element element) {
+        if (mContext == null) {
+            return null;
+        }
+        long start = mMetrics.begin(AboutPage.PerformanceListener.PHASE_TINT_ICON);
+        Drawable icon = IconCache.get(mContext, element.icon(), resolveIconTint(element));
+        mMetrics.end(AboutPage.PerformanceListener.PHASE_TINT_ICON, start);
+        return icon;
+    }
+
+    /**
+     * @return the color to tint the icon of the given element with, or null to keep its colors
+     */
+    @ColorInt
+    @Nullable
+    private Integer resolveIconTint(Element element) {
+        if (element.hasFlag(Element.FLAG_SKIP_TINT)) {
+            return null;
+        }
+
+        if (element.hasFlag(Element.FLAG_AUTO_ICON_TINT)) {
+            if (mStyle.isNightModeEnabled) {
+                if (element.iconNightTint() != Element.NO_RESOURCE) {
+                    return ContextCompat.getColor(mContext, element.iconNightTint());
+                }
+            } else if (element.iconTint() != Element.NO_RESOURCE) {
+                return ContextCompat.getColor(mContext, element.iconTint());
+            }
+            return mStyle.iconTint;
+        } else if (element.iconTint() != Element.NO_RESOURCE) {
+            return ContextCompat.getColor(mContext, element.iconTint());
+        } else if (mStyle.isNightModeEnabled) {
+            return mStyle.iconTint;
+        }
+        return null;
+    }
+
+    void bindHeader(@NonNull View header, @Nullable HeaderImage image, CharSequence description) {
+        bindHeader((ImageView) header.findViewById(R.id.image), (TextView) header.findViewById(R.id.description), image, description);
+    }
+
+    void bindHeader(@NonNull ImageView imageView, @NonNull TextView descriptionView, @Nullable HeaderImage image, CharSequence description) {
+        HeaderImageLoader.into(imageView, image);
+
+        // the typeface is part of the metrics a precomputed description was measured with
+        if (mCustomFont != null) {
+            descriptionView.setTypeface(mCustomFont);
+        }
+
+        CharSequence text = resolveDescription(description);
+        setText(descriptionView, text, mPrecomputedTexts != null ? mPrecomputedTexts.getDescription(text) : null);
+    }
+
+    /**
+     * @return the description to display, the default one when none is set
+     */
+    CharSequence resolveDescription(CharSequence description) {
+        if (!TextUtils.isEmpty(description) || mContext == null) {
+            return description;
+        }
+        return mContext.getString(R.string.about_page_description);
+    }
+
+    TextView createGroup(String name) {
+        TextView textView = createGroupRow();
+        bindGroup(textView, name);
+        return textView;
+    }
+
+    TextView createGroupRow() {
+        TextView textView = new TextView(mContext);
+        TextViewCompat.setTextAppearance(textView, mStyle.groupTextAppearance);
+        LinearLayout.LayoutParams textParams = new LinearLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+
+        if (mCustomFont != null) {
+            textView.setTypeface(mCustomFont);
+        }
+
+        textView.setPadding(mStyle.groupTextPadding, mStyle.groupTextPadding, mStyle.groupTextPadding, mStyle.groupTextPadding);
+
+        if (mIsRTL) {
+            textView.setGravity(Gravity.END | Gravity.CENTER_VERTICAL);
+            textParams.gravity = Gravity.END | Gravity.CENTER_VERTICAL;
+        } else {
+            textView.setGravity(Gravity.START | Gravity.CENTER_VERTICAL);
+            textParams.gravity = Gravity.START | Gravity.CENTER_VERTICAL;
+        }
+        textView.setLayoutParams(textParams);
+        return textView;
+    }
+
+    void bindGroup(@NonNull TextView textView, String name) {
+        setText(textView, name, mPrecomputedTexts != null ? mPrecomputedTexts.getGroup(name) : null);
+    }
+
+    private static void setText(TextView textView, CharSequence text, @Nullable PrecomputedTextCompat precomputed) {
+        if (precomputed != null && precomputed.getParams().equals(TextViewCompat.getTextMetricsParams(textView))) {
+            TextViewCompat.setPrecomputedText(textView, precomputed);
+        } else {
+            textView.setText(text);
+        }
+    }
+
+    /**
+     * @return the metrics the titles of the element rows are measured with
+     */
+    PrecomputedTextCompat.Params getTitleTextParams() {
+        ItemRow row = createsCompactRows() ? createCompactItemRow() : createRegularItemRow();
+        return TextViewCompat.getTextMetricsParams(row.textView);
+    }
+
+    PrecomputedTextCompat.Params getGroupTextParams() {
+        return TextViewCompat.getTextMetricsParams(createGroupRow());
+    }
+
+    /**
+     * @return the metrics the description is measured with, in the header of any root layout
+     */
+    PrecomputedTextCompat.Params getDescriptionTextParams() {
+        TextView textView = new TextView(mContext);
+        TextViewCompat.setTextAppearance(textView, mStyle.descriptionTextAppearance);
+        if (mCustomFont != null) {
+            textView.setTypeface(mCustomFont);
+        }
+        return TextViewCompat.getTextMetricsParams(textView);
+    }
+
+    AboutPageStyle getStyle() {
+        return mStyle;
+    }
+
+    /**
+     * @param parent the parent used to generate the separator layout params, the separator isn't
+     *               added to it
+     */
+    View createSeparator(@Nullable ViewGroup parent) {
+        return mInflater.inflate(R.layout.about_page_separator, parent, false);
+    }
+}
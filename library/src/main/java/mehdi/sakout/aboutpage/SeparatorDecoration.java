@@ -0,0 +1,53 @@
+package mehdi.sakout.aboutpage;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Draws the separator below each element row, in the bottom margin reserved by the row, instead
+ * of adding a separator view after it.
+ *
+ * @see AboutProvidersLayout
+ */
+final class SeparatorDecoration extends RecyclerView.ItemDecoration {
+
+    private final Paint mPaint = new Paint();
+    private final int mHeight;
+
+    SeparatorDecoration(@NonNull AboutPageStyle style) {
+        this.mHeight = style.separatorHeight;
+        mPaint.setColor(style.separatorColor);
+    }
+
+    static void setSeparatorBelow(@NonNull View view, boolean value) {
+        view.setTag(R.id.about_separator_below, value ? Boolean.TRUE : null);
+    }
+
+    static boolean hasSeparatorBelow(@NonNull View view) {
+        return view.getTag(R.id.about_separator_below) != null;
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas canvas, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        drawChildren(canvas, parent.getPaddingLeft(), parent.getWidth() - parent.getPaddingRight(), parent);
+    }
+
+    /**
+     * Draw the separators of the children of the given parent, between the given horizontal bounds
+     */
+    void drawChildren(@NonNull Canvas canvas, int left, int right, @NonNull ViewGroup parent) {
+        for (int i = 0; i < parent.getChildCount(); i++) {
+            View child = parent.getChildAt(i);
+            if (child.getVisibility() != View.VISIBLE || !hasSeparatorBelow(child)) {
+                continue;
+            }
+            float top = child.getBottom() + child.getTranslationY();
+            canvas.drawRect(left, top, right, top + mHeight, mPaint);
+        }
+    }
+}
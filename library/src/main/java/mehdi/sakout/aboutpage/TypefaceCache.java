@@ -0,0 +1,99 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Process-wide cache of the typefaces loaded from the assets, keyed by asset path.
+ * <p>
+ * Typefaces are weakly held once no page uses them anymore, except the preloaded ones which are
+ * kept until the process dies since they are meant to be used later.
+ */
+final class TypefaceCache {
+
+    private static final String LOG_TAG = AboutPage.class.getSimpleName();
+
+    private static final Map<String, WeakReference<Typeface>> sTypefaces = new HashMap<>();
+    private static final Map<String, Typeface> sPreloaded = new HashMap<>();
+
+    private TypefaceCache() {
+    }
+
+    /**
+     * Load the typeface from the assets unless it is cached. The font is read without holding the
+     * lock of the cache, so a lookup doesn't wait for a preload of another font. Concurrent
+     * lookups of the same font may read it twice, the first typeface published is kept.
+     *
+     * @return the typeface, or null when the font can't be read, for e.g a missing asset
+     */
+    @Nullable
+    static Typeface get(@NonNull AssetManager assets, @NonNull String path) {
+        Typeface typeface = find(path);
+        if (typeface != null) {
+            return typeface;
+        }
+        try {
+            typeface = Typeface.createFromAsset(assets, path);
+        } catch (RuntimeException e) {
+            Log.e(LOG_TAG, "failed to load the font '" + path + "'", e);
+            return null;
+        }
+        return publish(path, typeface);
+    }
+
+    private static synchronized Typeface find(String path) {
+        WeakReference<Typeface> reference = sTypefaces.get(path);
+        return reference != null ? reference.get() : null;
+    }
+
+    /**
+     * @return the typeface cached for the path meanwhile, otherwise the given one, now cached
+     */
+    private static synchronized Typeface publish(String path, Typeface typeface) {
+        Typeface cached = find(path);
+        if (cached != null) {
+            return cached;
+        }
+        prune();
+        sTypefaces.put(path, new WeakReference<>(typeface));
+        return typeface;
+    }
+
+    /**
+     * Remove the typefaces no page uses anymore
+     */
+    static synchronized void prune() {
+        Iterator<WeakReference<Typeface>> iterator = sTypefaces.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    static void preload(@NonNull Context context, @NonNull final String path) {
+        final AssetManager assets = context.getApplicationContext().getAssets();
+        AboutPageExecutors.background().execute(new Runnable() {
+            @Override
+            public void run() {
+                Typeface typeface = get(assets, path);
+                if (typeface == null) {
+                    return;
+                }
+                synchronized (TypefaceCache.class) {
+                    sPreloaded.put(path, typeface);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,268 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.os.Build;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures the time to build, create and lay out an AboutPage on the JVM, without a device, for
+ * several page sizes, with and without icons, in light and dark mode, and for each renderer. Later
+ * measure and layout passes, which depend on the depth of the view hierarchy, are timed
+ * separately.
+ * <p>
+ * The timings come from Robolectric, so they only compare versions of the library with each
+ * other, not with a device. The benchmark is skipped by the regular test runs, run it with:
+ * <pre>
+ * ./gradlew :library:testDebugUnitTest --tests '*AboutPageBenchmark' -Paboutpage.benchmark
+ * </pre>
+ * Results are written as JSON lines to {@code library/build/benchmarks/about-page-benchmark.json}.
+ * The memory kept by a page of {@value #LIST_SIZE} elements added one by one or as an
+ * {@link ElementList} is written to {@code about-page-list-benchmark.json} next to it.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AboutPageBenchmark {
+
+    private static final int[] SIZES = {10, 100, 1000};
+    private static final String[] RENDERERS = {"scroll", "precomputed", "drawn", "compact", "flat", "recycler", "canvas"};
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+    private static final int LIST_SIZE = 10000;
+
+    @Test
+    public void benchmark() throws IOException {
+        Assume.assumeTrue("run with -Paboutpage.benchmark", Boolean.getBoolean("aboutpage.benchmark"));
+
+        Context context = ApplicationProvider.getApplicationContext();
+        StringBuilder results = new StringBuilder();
+        for (String renderer : RENDERERS) {
+            for (int size : SIZES) {
+                for (boolean icons : new boolean[]{false, true}) {
+                    for (boolean dark : new boolean[]{false, true}) {
+                        String result = measure(context, renderer, size, icons, dark);
+                        System.out.println(result);
+                        results.append(result).append('\n');
+                    }
+                }
+            }
+        }
+
+        write(outputFile(), results.toString());
+    }
+
+    @Test
+    public void listBenchmark() throws IOException {
+        Assume.assumeTrue("run with -Paboutpage.benchmark", Boolean.getBoolean("aboutpage.benchmark"));
+
+        Context context = ApplicationProvider.getApplicationContext();
+        StringBuilder results = new StringBuilder();
+        for (String renderer : RENDERERS) {
+            for (boolean list : new boolean[]{false, true}) {
+                String result = measureRetained(context, renderer, list);
+                System.out.println(result);
+                results.append(result).append('\n');
+            }
+        }
+
+        File file = outputFile();
+        write(new File(file.getParentFile(), "about-page-list-benchmark.json"), results.toString());
+    }
+
+    /**
+     * Measure the heap kept by a created and laid out page, the elements given to it included
+     */
+    private static String measureRetained(Context context, String renderer, boolean list) {
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY);
+
+        long[] retainedBytes = new long[MEASURED_RUNS];
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            long usedBefore = usedMemory();
+            AboutPage page = new AboutPage(context)
+                    .useRecyclerView(renderer.equals("recycler"))
+                    .useCompactRows(renderer.equals("compact"))
+                    .useDrawnSeparators(renderer.equals("drawn"))
+                    .useFlatLayout(renderer.equals("flat"))
+                    .useCanvas(renderer.equals("canvas"))
+                    .usePrecomputedText(renderer.equals("precomputed"));
+            if (list) {
+                ElementList.Builder builder = new ElementList.Builder(LIST_SIZE);
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    builder.add("Element " + i, R.drawable.about_icon_link, "https://example.com/" + i);
+                }
+                page.addItems(builder.build());
+            } else {
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    page.addItem(new Element("Element " + i, R.drawable.about_icon_link)
+                            .setIntent(new Intent(Intent.ACTION_VIEW, Uri.parse("https://example.com/" + i))));
+                }
+            }
+            View view = page.create();
+            view.measure(widthSpec, heightSpec);
+            view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            long retained = usedMemory() - usedBefore;
+
+            if (run >= WARMUP_RUNS) {
+                retainedBytes[run - WARMUP_RUNS] = retained;
+            }
+            // used after the measure, so the page was kept while it was measured
+            page.release();
+        }
+
+        return String.format(Locale.US,
+                "{\"renderer\":\"%s\",\"elements\":%d,\"content\":\"%s\","
+                        + "\"retainedBytesPerElement\":%.1f,"
+                        + "\"runtime\":\"robolectric\",\"sdk\":%d,\"jvm\":\"%s\"}",
+                renderer, LIST_SIZE, list ? "ElementList" : "Element",
+                median(retainedBytes) / (double) LIST_SIZE,
+                Build.VERSION.SDK_INT, System.getProperty("java.version"));
+    }
+
+    private static String measure(Context context, String renderer, int size, boolean icons, boolean dark) {
+        int widthSpec = View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY);
+        int heightSpec = View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY);
+
+        long[] buildNs = new long[MEASURED_RUNS];
+        long[] createNs = new long[MEASURED_RUNS];
+        long[] layoutNs = new long[MEASURED_RUNS];
+        long[] relayoutNs = new long[MEASURED_RUNS];
+        long[] allocatedBytes = new long[MEASURED_RUNS];
+
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            List<Element> elements = createElements(size, icons);
+
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            AboutPage page = new AboutPage(context, dark)
+                    .useRecyclerView(renderer.equals("recycler"))
+                    .useCompactRows(renderer.equals("compact"))
+                    .useDrawnSeparators(renderer.equals("drawn"))
+                    .useFlatLayout(renderer.equals("flat"))
+                    .useCanvas(renderer.equals("canvas"))
+                    .usePrecomputedText(renderer.equals("precomputed"));
+            for (Element element : elements) {
+                page.addItem(element);
+            }
+            long built = System.nanoTime();
+            View view = page.create();
+            long created = System.nanoTime();
+            view.measure(widthSpec, heightSpec);
+            view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            long laidOut = System.nanoTime();
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            // a later pass, for e.g after a row changed, without the creation of the views
+            forceLayout(view);
+            long relayoutStart = System.nanoTime();
+            view.measure(widthSpec, heightSpec);
+            view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+            long relaidOut = System.nanoTime();
+
+            if (run >= WARMUP_RUNS) {
+                int index = run - WARMUP_RUNS;
+                buildNs[index] = built - start;
+                createNs[index] = created - built;
+                layoutNs[index] = laidOut - created;
+                relayoutNs[index] = relaidOut - relayoutStart;
+                allocatedBytes[index] = allocated;
+            }
+        }
+
+        return String.format(Locale.US,
+                "{\"renderer\":\"%s\",\"elements\":%d,\"icons\":%b,\"theme\":\"%s\","
+                        + "\"buildNs\":%d,\"createNs\":%d,\"firstLayoutNs\":%d,\"relayoutNs\":%d,"
+                        + "\"allocatedBytesPerElement\":%.1f,"
+                        + "\"runtime\":\"robolectric\",\"sdk\":%d,\"jvm\":\"%s\"}",
+                renderer, size, icons, dark ? "dark" : "light",
+                median(buildNs), median(createNs), median(layoutNs), median(relayoutNs),
+                median(allocatedBytes) / (double) size,
+                Build.VERSION.SDK_INT, System.getProperty("java.version"));
+    }
+
+    private static List<Element> createElements(int size, boolean icons) {
+        List<Element> elements = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Element element = new Element().setTitle("Element " + i);
+            if (icons) {
+                element.setIconDrawable(R.drawable.about_icon_link);
+            }
+            elements.add(element);
+        }
+        return elements;
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or 0 when the JVM can't tell
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+
+    /**
+     * @return the heap used once the garbage collector ran
+     */
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static File outputFile() {
+        return new File(System.getProperty("aboutpage.benchmark.output", "build/benchmarks/about-page-benchmark.json"));
+    }
+
+    private static void write(File file, String results) throws IOException {
+        file.getParentFile().mkdirs();
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(results);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private static void forceLayout(View view) {
+        view.forceLayout();
+        if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                forceLayout(group.getChildAt(i));
+            }
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
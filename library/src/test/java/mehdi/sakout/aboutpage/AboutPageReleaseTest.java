@@ -0,0 +1,122 @@
+package mehdi.sakout.aboutpage;
+
+import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.view.View;
+
+import androidx.activity.ComponentActivity;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.Config;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class AboutPageReleaseTest {
+
+    private static final int CYCLES = 1000;
+    private static final String[] RENDERERS = {"scroll", "precomputed", "drawn", "compact", "flat", "recycler", "canvas"};
+
+    @Test
+    public void releasedPagesDontKeepTheirActivity() {
+        // the pages outlive their Activity, as in a ViewModel
+        List<AboutPage> pages = new ArrayList<>();
+        List<WeakReference<Activity>> activities = new ArrayList<>();
+        for (int i = 0; i < CYCLES; i++) {
+            ActivityController<ComponentActivity> controller = Robolectric.buildActivity(ComponentActivity.class).create().start().resume();
+            ComponentActivity activity = controller.get();
+
+            AboutPage page = createPage(activity, RENDERERS[i % RENDERERS.length]).releaseOn(activity);
+            View view = page.create();
+            activity.setContentView(view);
+            layout(view);
+
+            controller.pause().stop().destroy();
+            pages.add(page);
+            activities.add(new WeakReference<Activity>(activity));
+        }
+        ShadowLooper.idleMainLooper();
+
+        assertEquals("activities kept by their released page", 0, collect(activities));
+        for (AboutPage page : pages) {
+            assertNotNull(page.snapshot());
+        }
+    }
+
+    @Test
+    public void releasedPagesKeepTheirViewsWorking() {
+        for (String renderer : RENDERERS) {
+            ActivityController<ComponentActivity> controller = Robolectric.buildActivity(ComponentActivity.class).create().start().resume();
+            ComponentActivity activity = controller.get();
+
+            AboutPage page = createPage(activity, renderer);
+            View view = page.create();
+            layout(view);
+            page.release();
+
+            // the views may still be displayed until their Activity is destroyed
+            view.forceLayout();
+            layout(view);
+            page.addItem(new Element().setTitle("Added after release").setIconDrawable(R.drawable.about_icon_link));
+
+            controller.pause().stop().destroy();
+        }
+    }
+
+    private static AboutPage createPage(Activity activity, String renderer) {
+        AboutPage page = new AboutPage(activity)
+                .useRecyclerView(renderer.equals("recycler"))
+                .useCompactRows(renderer.equals("compact"))
+                .useDrawnSeparators(renderer.equals("drawn"))
+                .useFlatLayout(renderer.equals("flat"))
+                .useCanvas(renderer.equals("canvas"))
+                .usePrecomputedText(renderer.equals("precomputed"))
+                .setDescription("Release test")
+                .addGroup("Connect with us");
+        for (int i = 0; i < 20; i++) {
+            page.addItem(new Element().setTitle("Element " + i).setIconDrawable(R.drawable.about_icon_link));
+        }
+        return page;
+    }
+
+    private static void layout(View view) {
+        view.measure(View.MeasureSpec.makeMeasureSpec(1080, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(1920, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, view.getMeasuredWidth(), view.getMeasuredHeight());
+        Bitmap bitmap = Bitmap.createBitmap(view.getWidth(), view.getHeight(), Bitmap.Config.ARGB_8888);
+        view.draw(new Canvas(bitmap));
+        bitmap.recycle();
+    }
+
+    /**
+     * Run the garbage collector until the references are cleared or it gives up
+     *
+     * @return the number of references that are still set
+     */
+    private static int collect(List<? extends WeakReference<?>> references) {
+        int retained = references.size();
+        for (int attempt = 0; attempt < 10 && retained > 0; attempt++) {
+            System.gc();
+            System.runFinalization();
+            retained = 0;
+            for (WeakReference<?> reference : references) {
+                if (reference.get() != null) {
+                    retained++;
+                }
+            }
+        }
+        return retained;
+    }
+}
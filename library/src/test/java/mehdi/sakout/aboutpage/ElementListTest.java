@@ -0,0 +1,89 @@
+package mehdi.sakout.aboutpage;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.Uri;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class ElementListTest {
+
+    private static final int SIZE = 10000;
+
+    @Test
+    public void rowsOfAListHoldNoElement() {
+        ElementList list = createList(SIZE);
+        AboutPageModel model = new AboutPageModel.Builder()
+                .addGroup("Credits")
+                .addElements(list)
+                .build();
+
+        List<Row> rows = Row.from(model, true);
+
+        assertEquals(1 + 2 * SIZE, rows.size());
+        for (Row row : rows) {
+            assertNull(row.element);
+        }
+        assertEquals("Entry 42", rows.get(1 + 2 * 42).title());
+        assertEquals(R.drawable.about_icon_link, rows.get(1 + 2 * 42).icon());
+    }
+
+    @Test
+    public void elementsOfAnEntryShareItsContent() {
+        ElementList list = createList(SIZE);
+        View.OnClickListener listener = new View.OnClickListener() {
+            @Override
+            public void onClick(View v) {
+            }
+        };
+        Element.IntentProvider provider = new Element.IntentProvider() {
+            @Override
+            public Intent getIntent(Context context) {
+                return null;
+            }
+        };
+        Intent intent = new Intent(Intent.ACTION_VIEW, Uri.parse("https://example.com/other"));
+
+        list.get(1).setOnClickListener(listener);
+        list.get(2).setIntentProvider(provider);
+        list.get(3).setIntent(intent);
+
+        assertNotSame(list.get(1), list.get(1));
+        assertEquals(Row.identity(list.get(1)), Row.identity(list.get(1)));
+        assertFalse(Row.identity(list.get(1)).equals(Row.identity(list.get(2))));
+        assertSame(listener, list.get(1).getOnClickListener());
+        assertNull(list.get(0).getOnClickListener());
+        assertSame(provider, list.get(2).getIntentProvider());
+        assertSame(intent, list.get(3).getIntent());
+        assertEquals(Uri.parse("https://example.com/0"), list.get(0).getIntent().getData());
+
+        list.get(1).setOnClickListener(null);
+        assertNull(list.get(1).getOnClickListener());
+        list.get(3).setIntent(null);
+        assertFalse(list.get(3).hasIntent());
+        assertTrue(list.get(4).hasIntent());
+    }
+
+    private static ElementList createList(int size) {
+        ElementList.Builder builder = new ElementList.Builder(size);
+        for (int i = 0; i < size; i++) {
+            builder.add("Entry " + i, R.drawable.about_icon_link, "https://example.com/" + i);
+        }
+        return builder.build();
+    }
+}